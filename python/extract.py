@@ -5,13 +5,39 @@ Pure-Python extractor for EAD PDFs (no external binaries).
 Uses pdfplumber + header-bounded parsing for robust fields.
 
 CLI:
-  python3 extract.py <PDF file or folder>
+  python3 extract.py [--jobs N] <PDF file or folder>
+  python3 extract.py --ndjson [--jobs N] <PDF file or folder>
+  python3 extract.py --worker
 
 Output: JSON array with:
   dataDeclaratie, nrMrn, identificare, numeExportator, buc, greutate, descriereaMarfurilor, file
+
+With --ndjson every PDF is written as its own JSON line and flushed as soon as
+it is parsed, so the reader can consume rows while later PDFs are still running.
+
+--jobs N parses a folder in N processes (0 = one per core); output order stays
+the sorted file order. Default 1. Worker mode is always single-file: the Java
+side runs one worker per core instead.
+
+Worker mode keeps the process (and the imported pdfplumber) alive: it reads one
+PDF path per line on stdin and answers each with one JSON object per line on
+stdout. The worker exits when stdin is closed.
+
+In every mode a PDF that cannot be parsed yields {"file": ..., "error": ...}
+and the run goes on with the next one.
+
+With EXTRACT_TIMINGS=1 in the environment every record also carries
+"_timings": {phase or field: milliseconds}, e.g. "open", "layout.text",
+"layout.words", "index", "greutate", ..., "total". It is outside the register schema,
+so readers that don't know it can skip it.
+
+Pages are laid out one by one (field words plus pdfplumber's extract_text()
+for the section-based fields) and the rest of a PDF is skipped once every
+field is found.
 """
 
-import sys, re, json, unicodedata
+import os, sys, re, json, time, unicodedata
+from multiprocessing import Pool, freeze_support
 from pathlib import Path
 from typing import List, Dict, Optional, Tuple
 
@@ -30,43 +56,60 @@ def strip_accents(s: str) -> str:
 def norm(s: str) -> str:
     return strip_accents(s or "").lower().strip()
 
-def words_and_texts(path: str) -> Tuple[List[dict], List[str]]:
-    """Return all word boxes across pages AND page texts (1 string per page)."""
-    words: List[dict] = []
-    page_texts: List[str] = []
-    with pdfplumber.open(path) as pdf:
-        for page in pdf.pages:
-            page_texts.append(page.extract_text() or "")
-            ws = page.extract_words(
-                use_text_flow=True,
-                keep_blank_chars=False,
-                x_tolerance=1.0,
-                y_tolerance=2.0,
-            ) or []
-            for w in ws:
-                w["page"] = page.page_number
-            words.extend(ws)
-    return words, page_texts
+TIMINGS = os.environ.get("EXTRACT_TIMINGS") == "1"
+
+def add_ms(timings: Optional[Dict[str, float]], name: str, t0: float) -> float:
+    """Add the time since t0 to timings[name] (if timing is on); return now."""
+    now = time.perf_counter()
+    if timings is not None:
+        timings[name] = round(timings.get(name, 0.0) + (now - t0) * 1000.0, 3)
+    return now
+
+def layout_page(page, timings: Optional[Dict[str, float]] = None) -> Tuple[List[dict], str]:
+    """Word boxes (for the field scans) and extract_text() of one page."""
+    t = time.perf_counter()
+    ws = page.extract_words(
+        use_text_flow=True,
+        keep_blank_chars=False,
+        x_tolerance=1.0,
+        y_tolerance=2.0,
+    ) or []
+    for w in ws:
+        w["page"] = page.page_number
+    t = add_ms(timings, "layout.words", t)
+    text = page.extract_text() or ""
+    add_ms(timings, "layout.text", t)
+    return ws, text
 
 def build_lines(words: List[dict], y_tol: float = 2.5) -> List[dict]:
-    """Group words into line bands per page; keep text and normalized text."""
+    """Group words into line bands per page; keep text and normalized text.
+
+    One sweep per page over the words sorted by top. A word joins the first
+    (oldest) open line its band overlaps, exactly as a scan of all lines would;
+    a line whose bottom + y_tol is above the current word's top can never be
+    reached again (tops only grow), so it is closed and no longer scanned.
+    O(n log n) for the sort plus O(n * open lines), instead of O(n * lines).
+    """
+    by_page: Dict[int, List[dict]] = {}
+    for w in words:
+        by_page.setdefault(w["page"], []).append(w)
     lines: List[dict] = []
-    for page in sorted({w["page"] for w in words}):
-        ws = [w for w in words if w["page"] == page]
+    for page in sorted(by_page):
+        ws = by_page[page]
         ws.sort(key=lambda x: (x["top"], x["x0"]))
+        open_lines: List[dict] = []          # creation order, like the full scan
         for w in ws:
-            placed = False
-            for ln in lines:
-                if ln["page"] != page:
-                    continue
+            open_lines = [ln for ln in open_lines if ln["bottom"] + y_tol >= w["top"]]
+            for ln in open_lines:
                 if not (w["bottom"] < ln["top"] - y_tol or w["top"] > ln["bottom"] + y_tol):
                     ln["words"].append(w)
                     ln["top"] = min(ln["top"], w["top"])
                     ln["bottom"] = max(ln["bottom"], w["bottom"])
-                    placed = True
                     break
-            if not placed:
-                lines.append({"page": page, "top": w["top"], "bottom": w["bottom"], "words": [w]})
+            else:
+                ln = {"page": page, "top": w["top"], "bottom": w["bottom"], "words": [w]}
+                lines.append(ln)
+                open_lines.append(ln)
     for ln in lines:
         ln["words"].sort(key=lambda x: x["x0"])
         ln["text"] = " ".join(w["text"] for w in ln["words"])
@@ -75,8 +118,52 @@ def build_lines(words: List[dict], y_tol: float = 2.5) -> List[dict]:
     lines.sort(key=lambda ln: (ln["page"], ln["top"]))
     return lines
 
-def same_line(words: List[dict], page: int, top: float, bottom: float, tol: float = 2.5) -> List[dict]:
-    return [w for w in words if w["page"] == page and not (w["bottom"] < top - tol or w["top"] > bottom + tol)]
+class WordIndex:
+    """
+    Uniform grid over the word boxes of one PDF, built once: every word is
+    filed under each (page, y-band, x-band) cell its box touches. Neighbourhood
+    queries ("same band", "below the anchor within 60pt") then read a few cells
+    instead of rescanning every word. near() returns a superset in word-list
+    order; callers keep their exact predicates, so results don't change.
+    """
+
+    def __init__(self, words: List[dict], cell_h: float = 24.0, cell_w: float = 100.0):
+        self.words = words
+        self.cell_h, self.cell_w = cell_h, cell_w
+        self.cells: Dict[Tuple[int, int, int], List[int]] = {}
+        self.rows: Dict[Tuple[int, int], List[int]] = {}
+        for i, w in enumerate(words):
+            y0, y1 = self._span(w["top"], w["bottom"], cell_h)
+            x0, x1 = self._span(w["x0"], w.get("x1", w["x0"]), cell_w)
+            for yb in range(y0, y1 + 1):
+                self.rows.setdefault((w["page"], yb), []).append(i)
+                for xb in range(x0, x1 + 1):
+                    self.cells.setdefault((w["page"], yb, xb), []).append(i)
+
+    @staticmethod
+    def _span(a: float, b: float, size: float) -> Tuple[int, int]:
+        lo, hi = (a, b) if a <= b else (b, a)
+        return int(lo // size), int(hi // size)
+
+    def near(self, page: int, top: float, bottom: float,
+             x0: Optional[float] = None, x1: Optional[float] = None) -> List[dict]:
+        """Words on `page` whose box may meet the y-range [top, bottom] (and x-range, if given)."""
+        y0, y1 = self._span(top, bottom, self.cell_h)
+        hits = set()
+        if x0 is None or x1 is None:
+            for yb in range(y0, y1 + 1):
+                hits.update(self.rows.get((page, yb), ()))
+        else:
+            xa, xb_ = self._span(x0, x1, self.cell_w)
+            for yb in range(y0, y1 + 1):
+                for xb in range(xa, xb_ + 1):
+                    hits.update(self.cells.get((page, yb, xb), ()))
+        return [self.words[i] for i in sorted(hits)]
+
+def same_line(words: List[dict], page: int, top: float, bottom: float, tol: float = 2.5,
+              index: Optional[WordIndex] = None) -> List[dict]:
+    pool = index.near(page, top - tol, bottom + tol) if index is not None else words
+    return [w for w in pool if w["page"] == page and not (w["bottom"] < top - tol or w["top"] > bottom + tol)]
 
 def slice_between(txt: str, start_pat: str, end_pats: List[str]) -> Optional[str]:
     """Return substring of txt after start_pat and before the earliest of end_pats."""
@@ -95,13 +182,14 @@ def slice_between(txt: str, start_pat: str, end_pats: List[str]) -> Optional[str
 
 # ------------------------ generic fields (kept stable) ------------------------
 
-def extract_exporter(words: List[dict]) -> Optional[str]:
+def extract_exporter(words: List[dict], index: Optional[WordIndex] = None) -> Optional[str]:
     """First uppercase-ish line below 'Exportator [13 01]'. Skip 'Nr:' VAT line; strip leading checkbox (X/☒/✓/...)."""
     CHECK_TICK = re.compile(r"^[Xx☒✓✔✘]$")
     for w in words:
         if norm(w["text"]).startswith("exportator"):
             page, bottom = w["page"], w["bottom"]
-            nxt = [ww for ww in words if ww["page"] == page and bottom < ww["top"] <= bottom + 60]
+            pool = index.near(page, bottom, bottom + 60) if index is not None else words
+            nxt = [ww for ww in pool if ww["page"] == page and bottom < ww["top"] <= bottom + 60]
             nxt.sort(key=lambda x: (x["top"], x["x0"]))
             # group into lines
             line_groups: List[dict] = []
@@ -127,17 +215,18 @@ def extract_exporter(words: List[dict]) -> Optional[str]:
                     return name
     return None
 
-def extract_greutate(words: List[dict]) -> Optional[int]:
+def extract_greutate(words: List[dict], index: Optional[WordIndex] = None) -> Optional[int]:
     """Greutate (gross mass) just below 'Masa ... brută [18 04]'; take integer part."""
     num_pat = re.compile(r"^(?:\d{1,3}(?:[.,]\d{3})*|\d+(?:[.,]\d+)?)$")
     for w in words:
         if norm(w["text"]) == "masa":
-            band = same_line(words, w["page"], w["top"], w["bottom"])
+            band = same_line(words, w["page"], w["top"], w["bottom"], index=index)
             if not any("brut" in norm(ww["text"]) for ww in band):
                 continue
             x0, x1 = w["x0"] - 20, w["x1"] + 140
+            pool = index.near(w["page"], w["bottom"], w["bottom"] + 24, x0, x1) if index is not None else words
             candidates = [
-                ww for ww in words
+                ww for ww in pool
                 if ww["page"] == w["page"]
                    and w["bottom"] <= ww["top"] <= w["bottom"] + 24
                    and x0 <= ww["x0"] <= x1
@@ -154,8 +243,9 @@ def extract_greutate(words: List[dict]) -> Optional[int]:
                     pass
     return None
 
-def extract_mrn(words: List[dict], filename: Optional[str] = None) -> Optional[str]:
-    """Find token starting with '25RO...' and return substring AFTER the 11th char (no C/N assumption)."""
+def extract_mrn(words: List[dict], filename: Optional[str] = None, fallback: bool = True) -> Optional[str]:
+    """Find token starting with '25RO...' and return substring AFTER the 11th char (no C/N assumption).
+    fallback=False: single tokens only, no joined text / file name guesses."""
     def mrn_from_token(tok: str) -> Optional[str]:
         s = re.sub(r"[^A-Z0-9]", "", tok.upper())
         if (s.startswith("25RO") or s.startswith("26RO")) and len(s) >= 18:
@@ -165,6 +255,8 @@ def extract_mrn(words: List[dict], filename: Optional[str] = None) -> Optional[s
         m = mrn_from_token(w["text"])
         if m:
             return m
+    if not fallback:
+        return None
     joined = re.sub(r"\s+", "", "".join(w["text"] for w in words))
     m2 = mrn_from_token(joined)
     if m2:
@@ -176,26 +268,30 @@ def extract_mrn(words: List[dict], filename: Optional[str] = None) -> Optional[s
             return m3
     return None
 
-def extract_data_declaratie(words: List[dict]) -> Optional[str]:
-    """Find first date; return dd-mm."""
+def extract_data_declaratie(words: List[dict], index: Optional[WordIndex] = None,
+                            fallback: bool = True) -> Optional[str]:
+    """Find first date; return dd-mm. fallback=False: only a date on a 'Data ...' line."""
     pat = re.compile(r"\b(\d{1,2})[./-](\d{1,2})(?:[./-]\d{2,4})?\b")
     for w in words:
         if "data" in norm(w["text"]):
-            band = same_line(words, w["page"], w["top"], w["bottom"])
+            band = same_line(words, w["page"], w["top"], w["bottom"], index=index)
             m = pat.search(" ".join(x["text"] for x in band))
             if m:
                 return f"{m.group(1).zfill(2)}-{m.group(2).zfill(2)}"
+    if not fallback:
+        return None
     for w in words:
         m = pat.search(w["text"])
         if m:
             return f"{m.group(1).zfill(2)}-{m.group(2).zfill(2)}"
     return None
 
-def extract_identificare_from_pages(page_texts: List[str]) -> Optional[str]:
+def extract_identificare_from_pages(page_texts: List[str], fallback: bool = True) -> Optional[str]:
     """
     AWB/CMR inside:
       'Documentul de transport [12 05]' ... 'Documentul precedent [12 01]'
     If contains N740/N741 -> AWB; if N730 -> CMR.
+    fallback=False: skip the pass over all pages joined (a section split across pages).
     """
     hdr_re = re.compile(
         r"Documentul\s+de\s+transport\b(?:\s*[-–—]?\s*[^\[]*)?\[\s*12\s*05\s*\]"
@@ -232,6 +328,8 @@ def extract_identificare_from_pages(page_texts: List[str]) -> Optional[str]:
         found = scan_text(t)
         if found:
             return found
+    if not fallback:
+        return None
 
     joined = strip_accents("\n".join(page_texts))
     return scan_text(joined)
@@ -359,19 +457,61 @@ def extract_descriere_from_pages(page_texts: List[str]) -> Optional[str]:
 
 # ------------------------ per-PDF + CLI ------------------------
 
+FIELDS = ("dataDeclaratie", "nrMrn", "identificare", "numeExportator", "buc", "greutate", "descriereaMarfurilor")
+
 def extract_one_pdf(pdf_path: Path) -> Dict[str, Optional[str]]:
-    words, page_texts = words_and_texts(str(pdf_path))
-
-    res = {
-        "dataDeclaratie": extract_data_declaratie(words),
-        "nrMrn": extract_mrn(words, pdf_path.name),
-        "identificare": extract_identificare_from_pages(page_texts),
-        "numeExportator": extract_exporter(words),
-        "buc": extract_buc_from_pages(page_texts),
-        "greutate": extract_greutate(words),
-        "descriereaMarfurilor": extract_descriere_from_pages(page_texts),
-        "file": pdf_path.name,
-    }
+    """
+    Lays pages out one at a time and stops as soon as every field has a confident
+    value, so a long multi-item declaration costs about what its first pages cost.
+    Every confident scan returns its first hit in page order, so stopping early
+    gives the same values as reading the whole PDF; the whole-document fallbacks
+    (any date, joined MRN, file name, a section split across pages) only run
+    when the last page has been read and a field is still missing.
+    """
+    timings: Optional[Dict[str, float]] = {} if TIMINGS else None
+    t_start = time.perf_counter()
+    res: Dict[str, Optional[str]] = dict.fromkeys(FIELDS)
+    words: List[dict] = []
+    page_texts: List[str] = []
+
+    def field(name, fn, *args):
+        if res[name] is not None:
+            return
+        t0 = time.perf_counter()
+        res[name] = fn(*args)
+        add_ms(timings, name, t0)
+
+    t = time.perf_counter()
+    with pdfplumber.open(str(pdf_path)) as pdf:
+        add_ms(timings, "open", t)
+        for page in pdf.pages:
+            # 1) Confident values from this page alone
+            ws, text = layout_page(page, timings)
+            words.extend(ws)
+            page_texts.append(text)
+            t0 = time.perf_counter()
+            index = WordIndex(ws)
+            add_ms(timings, "index", t0)
+            field("dataDeclaratie", extract_data_declaratie, ws, index, False)
+            field("nrMrn", extract_mrn, ws, None, False)
+            field("identificare", extract_identificare_from_pages, [text], False)
+            field("numeExportator", extract_exporter, ws, index)
+            field("buc", extract_buc_from_pages, [text])
+            field("greutate", extract_greutate, ws, index)
+            field("descriereaMarfurilor", extract_descriere_from_pages, [text])
+            if all(res[f] is not None for f in FIELDS):
+                break
+        else:
+            # 2) Read to the end with fields missing: whole-document fallbacks
+            if res["dataDeclaratie"] is None:
+                field("dataDeclaratie", extract_data_declaratie, words, WordIndex(words))
+            field("nrMrn", extract_mrn, words, pdf_path.name)
+            field("identificare", extract_identificare_from_pages, page_texts)
+
+    res["file"] = pdf_path.name
+    if timings is not None:
+        add_ms(timings, "total", t_start)
+        res["_timings"] = timings
     return res
 
 def find_pdfs(root: Path) -> List[Path]:
@@ -380,15 +520,75 @@ def find_pdfs(root: Path) -> List[Path]:
         return [root]
     return sorted(p for p in root.rglob("*") if p.is_file() and p.suffix.lower() == ".pdf")
 
+def run_worker():
+    """Serve extraction requests from stdin until EOF (one path per line)."""
+    while True:
+        line = sys.stdin.readline()
+        if not line:
+            break
+        path = line.rstrip("\r\n")
+        if not path:
+            continue
+        emit_line(extract_or_error(Path(path)))
+
+def extract_or_error(p: Path) -> Dict[str, Optional[str]]:
+    """One bad PDF becomes an error record instead of ending the run."""
+    try:
+        return extract_one_pdf(p)
+    except Exception as e:
+        return {"file": p.name, "error": f"{type(e).__name__}: {e}"}
+
+def emit_line(res: Dict[str, Optional[str]]):
+    """One NDJSON record, flushed immediately."""
+    sys.stdout.write(json.dumps(res, ensure_ascii=True) + "\n")
+    sys.stdout.flush()
+
+def extract_all(pdfs: List[Path], jobs: int):
+    """Yield one record per PDF in input order; with jobs > 1 the PDFs are parsed in a process pool."""
+    jobs = min(jobs, len(pdfs))
+    if jobs <= 1:
+        for p in pdfs:
+            yield extract_or_error(p)
+        return
+    with Pool(processes=jobs) as pool:
+        # imap hands results back in submission order, each as soon as it and its predecessors are done
+        yield from pool.imap(extract_or_error, pdfs, chunksize=1)
+
+def usage():
+    print("Usage: extract.py [--ndjson] [--jobs N] <PDF file or folder> | --worker", file=sys.stderr)
+    sys.exit(2)
+
 def main():
-    if len(sys.argv) < 2:
-        print("Usage: extract.py <PDF file or folder>", file=sys.stderr)
-        sys.exit(2)
-    root = Path(sys.argv[1])
+    args = sys.argv[1:]
+    if args and args[0] == "--worker":
+        run_worker()
+        return
+    ndjson, jobs, rest = False, 1, []
+    while args:
+        a = args.pop(0)
+        if a == "--ndjson":
+            ndjson = True
+        elif a == "--jobs":
+            try:
+                jobs = int(args.pop(0))
+            except (IndexError, ValueError):
+                usage()
+            if jobs < 0:
+                usage()
+            jobs = jobs or os.cpu_count() or 1    # --jobs 0: one process per core
+        else:
+            rest.append(a)
+    if len(rest) != 1:
+        usage()
+    root = Path(rest[0])
     if not root.exists():
         print(f"Path not found: {root}", file=sys.stderr)
         sys.exit(2)
-    results = [extract_one_pdf(p) for p in find_pdfs(root)]
+    if ndjson:
+        for res in extract_all(find_pdfs(root), jobs):
+            emit_line(res)
+        return
+    results = list(extract_all(find_pdfs(root), jobs))
     print(json.dumps(results, ensure_ascii=True))
 #     data = json.dumps(results, ensure_ascii=False)
 #     sys.stdout.buffer.write(data.encode('utf-8'))
@@ -396,4 +596,7 @@ def main():
 #     sys.stdout.buffer.buffer.flush
 
 if __name__ == "__main__":
+    # must run first: in a frozen (PyInstaller) binary the pool's children start
+    # the same executable, and this turns them into pool workers instead of a second main()
+    freeze_support()
     main()
@@ -0,0 +1,225 @@
+// src/bench/java/org/app/bench/EadCorpusGenerator.java
+package org.app.bench;
+
+import com.opencsv.CSVWriter;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.Normalizer;
+import java.util.Random;
+
+/**
+ * Writes a deterministic corpus of synthetic EAD export declarations, laid out
+ * the way the extractor expects them (field codes [13 01], [12 05], [18 06],
+ * [18 05], [18 04], ...), plus {@code expected.csv} with the register values
+ * each PDF should produce. No customer data: every value is drawn from a seeded
+ * {@link Random}, one per file, so file {@code i} is the same on every machine.
+ *
+ * <pre>
+ * mvn -Pbench compile exec:java -Dexec.mainClass=org.app.bench.EadCorpusGenerator \
+ *     -Dexec.args="--out corpus --count 5000 [--seed 1] [--max-pages 6] [--font DejaVuSans.ttf]"
+ * </pre>
+ * Without {@code --font} the text is written without diacritics (the standard
+ * Helvetica has no ă/ș/ț); the extractor matches both spellings.
+ */
+public final class EadCorpusGenerator {
+
+    private static final float LEFT = 40;
+    private static final float BLOCK = 80;          // > 60pt: nothing else may sit under "Exportator"
+
+    private static final String[] EXPORTERS = {
+            "SC AGRO EXPORT SRL", "ȚESĂTORIA MUREȘ SA", "TRANSILVANIA LOGISTIC SRL",
+            "DUNĂREA CEREALE SRL", "BRAȘOV AUTOMOTIVE COMPONENTS SRL", "CARPAȚI TIMBER SRL",
+            "BANAT FOOD INDUSTRIES SA", "OLTENIA STEEL WORKS SRL"
+    };
+    private static final String[] GOODS = {
+            "Piese auto din oțel", "Grâu", "Mobilier din lemn masiv, asamblat",
+            "Țesături din bumbac, vopsite", "Porumb boabe, altul decât pentru sămânță",
+            "Componente electronice pentru sisteme de frânare", "Cherestea de rășinoase",
+            "Încălțăminte cu fețe din piele naturală"
+    };
+    private static final String[] PACKAGE_KINDS = {"PC", "PX", "CT", "BX", "PAL"};
+
+    /** Transport document code → what the register shows for it. */
+    private static final String[][] TRANSPORT = {
+            {"N730", "CMR"}, {"N740", "AWB"}, {"N741", "AWB"}, {"N787", "Borderou"}
+    };
+
+    private final PDFont font;
+    private final boolean diacritics;
+
+    private EadCorpusGenerator(PDFont font, boolean diacritics) {
+        this.font = font;
+        this.diacritics = diacritics;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path out = null;
+        int count = 1000;
+        long seed = 1;
+        int maxPages = 6;
+        File fontFile = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--out" -> out = Path.of(args[++i]);
+                case "--count" -> count = Integer.parseInt(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--max-pages" -> maxPages = Integer.parseInt(args[++i]);
+                case "--font" -> fontFile = new File(args[++i]);
+                default -> throw new IllegalArgumentException("Unknown argument: " + args[i]);
+            }
+        }
+        if (out == null || count < 1 || maxPages < 1) {
+            System.err.println("Usage: EadCorpusGenerator --out <dir> --count N [--seed S] [--max-pages P] [--font file.ttf]");
+            System.exit(2);
+        }
+        Files.createDirectories(out);
+
+        long t0 = System.nanoTime();
+        try (Writer w = Files.newBufferedWriter(out.resolve("expected.csv"), StandardCharsets.UTF_8);
+             CSVWriter csv = new CSVWriter(w)) {
+            csv.writeNext(new String[]{"file", "dataDeclaratie", "nrMrn", "identificare", "numeExportator",
+                    "buc", "greutate", "descriereaMarfurilor"});
+            for (int i = 0; i < count; i++) {
+                Random rnd = new Random(seed * 1_000_003L + i);
+                String name = String.format("ead-%06d.pdf", i);
+                try (PDDocument doc = new PDDocument()) {
+                    PDFont f = fontFile == null
+                            ? new PDType1Font(Standard14Fonts.FontName.HELVETICA)
+                            : PDType0Font.load(doc, fontFile);
+                    String[] expected = new EadCorpusGenerator(f, fontFile != null)
+                            .write(doc, rnd, 1 + rnd.nextInt(maxPages));
+                    // fixed trailer /ID: byte-identical output for the same seed
+                    doc.setDocumentId(seed * 1_000_003L + i);
+                    doc.save(out.resolve(name).toFile());
+                    String[] row = new String[expected.length + 1];
+                    row[0] = name;
+                    System.arraycopy(expected, 0, row, 1, expected.length);
+                    csv.writeNext(row);
+                }
+            }
+        }
+        System.err.printf("Wrote %d PDFs to %s in %d ms%n", count, out, (System.nanoTime() - t0) / 1_000_000);
+    }
+
+    /** Lays out one declaration; returns the expected register values (same order as the CSV header). */
+    private String[] write(PDDocument doc, Random rnd, int pages) throws IOException {
+        // 1) Draw the values
+        int day = 1 + rnd.nextInt(28), month = 1 + rnd.nextInt(12);
+        String year = rnd.nextBoolean() ? "2025" : "2026";
+        String mrn = year.substring(2) + "RO" + String.format("%06d", rnd.nextInt(1_000_000))
+                + "EX" + String.format("%06d", rnd.nextInt(1_000_000)) + (char) ('A' + rnd.nextInt(26)) + rnd.nextInt(10);
+        String exporter = text(EXPORTERS[rnd.nextInt(EXPORTERS.length)]);
+        String[] transport = TRANSPORT[rnd.nextInt(TRANSPORT.length)];
+        int pieces = 1 + rnd.nextInt(rnd.nextInt(10) == 0 ? 5000 : 60);
+        int gross = 50 + rnd.nextInt(24_000);
+        String goods = text(GOODS[rnd.nextInt(GOODS.length)]);
+
+        // 2) First page: one column, one block per field, with layout jitter
+        PDPage first = new PDPage(PDRectangle.A4);
+        doc.addPage(first);
+        float h = first.getMediaBox().getHeight();
+        try (PDPageContentStream cs = new PDPageContentStream(doc, first)) {
+            float size = 8.5f + rnd.nextInt(4) * 0.5f;
+            float y = 40 + jitter(rnd, 4);
+            line(cs, h, LEFT + jitter(rnd, 10), y, size + 4, text("DECLARAȚIE DE EXPORT"));
+            line(cs, h, LEFT + jitter(rnd, 10), y += 24, size, "MRN: " + mrn);
+            line(cs, h, LEFT + jitter(rnd, 10), y += 20, size,
+                    text("Data acceptării: ") + String.format("%02d.%02d.%s", day, month, year));
+
+            float x = LEFT + jitter(rnd, 10);
+            line(cs, h, x, y += BLOCK * 0.6f, size, "Exportator [13 01]");
+            line(cs, h, x + 8, y + size + 4, size, "Nr: RO" + (10_000_000 + rnd.nextInt(90_000_000)));
+            line(cs, h, x + 8, y + 2 * (size + 4), size, exporter);
+
+            x = LEFT + jitter(rnd, 10);
+            line(cs, h, x, y += BLOCK + jitter(rnd, 4), size, "Documentul de transport [12 05]");
+            line(cs, h, x + 8, y + size + 4, size, transport[0] + " / " + (100_000 + rnd.nextInt(900_000)));
+            line(cs, h, x, y + 2 * (size + 4), size, "Documentul precedent [12 01]");
+            line(cs, h, x + 8, y + 3 * (size + 4), size, "Y999 / " + (1000 + rnd.nextInt(9000)));
+
+            x = LEFT + jitter(rnd, 10);
+            line(cs, h, x, y += BLOCK + jitter(rnd, 4), size, "Tipul si nr. de colete [18 06]");
+            line(cs, h, x + 8, y + size + 4, size,
+                    PACKAGE_KINDS[rnd.nextInt(PACKAGE_KINDS.length)] + " / " + pieces + " / FARA MARCI");
+
+            x = LEFT + jitter(rnd, 10);
+            line(cs, h, x, y += BLOCK * 0.7f + jitter(rnd, 4), size, text("Descrierea mărfurilor [18 05]"));
+            line(cs, h, x + 8, y + size + 4, size, "1. " + goods);
+
+            x = LEFT + jitter(rnd, 10);
+            line(cs, h, x, y += BLOCK * 0.7f + jitter(rnd, 4), size, text("Cod nomenclatură combinată [18 09]"));
+            line(cs, h, x + 8, y + size + 4, size, String.format("%08d", rnd.nextInt(100_000_000)));
+
+            // the gross mass sits right under "Masa", inside its x window
+            x = LEFT + jitter(rnd, 10);
+            line(cs, h, x, y += BLOCK * 0.7f + jitter(rnd, 4), size, text("Masa brută (kg) [18 04]"));
+            line(cs, h, x + rnd.nextInt(20), y + size + 6, size,
+                    gross + (rnd.nextBoolean() ? "" : "," + String.format("%02d", rnd.nextInt(100))));
+            line(cs, h, x, y += BLOCK * 0.5f, size, text("Masa netă (kg) [18 01]"));
+            line(cs, h, x + 8, y + size + 6, size, Integer.toString(Math.max(1, gross - rnd.nextInt(50))));
+
+            line(cs, h, LEFT + jitter(rnd, 10), y += BLOCK * 0.6f, size, "Valoarea statistica [99 06]");
+            line(cs, h, LEFT + 8, y + size + 4, size, (1000 + rnd.nextInt(900_000)) + " EUR");
+        }
+
+        // 3) Continuation pages: item lists, nothing the field scans key on
+        for (int p = 2; p <= pages; p++) {
+            PDPage page = new PDPage(PDRectangle.A4);
+            doc.addPage(page);
+            try (PDPageContentStream cs = new PDPageContentStream(doc, page)) {
+                float y = 40 + jitter(rnd, 4);
+                line(cs, h, LEFT, y, 9, "Articolul " + p + " / " + pages);
+                int items = 20 + rnd.nextInt(40);
+                for (int i = 0; i < items && y < h - 60; i++) {
+                    line(cs, h, LEFT + jitter(rnd, 3), y += 13, 8,
+                            (i + 1) + ". " + text(GOODS[rnd.nextInt(GOODS.length)]) + " x" + (1 + rnd.nextInt(99)));
+                }
+            }
+        }
+
+        String identificare = transport[1];
+        return new String[]{
+                String.format("%02d-%02d", day, month),
+                mrn.substring(11),
+                identificare,
+                exporter,
+                Integer.toString(pieces),
+                Integer.toString(gross),
+                goods
+        };
+    }
+
+    // ------------------------------- helpers -------------------------------
+
+    /** One text line; {@code top} is measured from the top of the page, like pdfplumber. */
+    private void line(PDPageContentStream cs, float pageHeight, float x, float top, float size, String s)
+            throws IOException {
+        cs.beginText();
+        cs.setFont(font, size);
+        cs.newLineAtOffset(x, pageHeight - top - size);
+        cs.showText(s);
+        cs.endText();
+    }
+
+    private String text(String s) {
+        if (diacritics) return s;
+        return Normalizer.normalize(s, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+    }
+
+    private static float jitter(Random rnd, float max) {
+        return (rnd.nextFloat() * 2 - 1) * max;
+    }
+}
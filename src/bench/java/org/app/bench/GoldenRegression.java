@@ -0,0 +1,275 @@
+// src/bench/java/org/app/bench/GoldenRegression.java
+package org.app.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opencsv.CSVReader;
+import org.app.model.RegistruEvidentaDto;
+import org.app.service.ExtractionEngine;
+import org.app.service.ExtractorPool;
+import org.app.service.ExtractorResult;
+import org.app.service.PdfFolderService;
+import org.app.service.ProcessedManifest;
+import org.app.service.RegisterRun;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * End-to-end regression gate: runs the real PdfFolderService → RegisterRun →
+ * ExcelWriter path over a golden corpus (e.g. one written by
+ * {@link EadCorpusGenerator}, whose {@code expected.csv} holds the golden values),
+ * then checks per-field accuracy and throughput against a baseline file.
+ *
+ * <pre>
+ * mvn -Pbench compile exec:java -Dexec.mainClass=org.app.bench.GoldenRegression \
+ *     -Dexec.args="--corpus corpus [--baseline src/bench/golden-baseline.properties] [--jobs 4]
+ *                  [--engine python|pdfbox] [--update-baseline]"
+ * </pre>
+ * Bound to {@code verify} in the bench profile, right after the corpus is generated, so
+ * {@code mvn -Pbench verify} fails when the gate does.
+ * Prints a one-line JSON summary (fields, files/s, wall time, peak RSS of the JVM
+ * and of the extractor workers). Exit codes: 0 pass, 1 regression, 2 bad arguments,
+ * so {@code mvn} fails the build when accuracy or throughput drop. Throughput is only
+ * gated once the baseline holds a measured {@code filesPerSecond} (0 = disabled).
+ * The cache is off: every PDF is really extracted.
+ */
+public final class GoldenRegression {
+
+    private static final Map<String, Function<RegistruEvidentaDto, String>> FIELDS = new LinkedHashMap<>();
+    static {
+        FIELDS.put("dataDeclaratie", RegistruEvidentaDto::getDataDeclaratie);
+        FIELDS.put("nrMrn", RegistruEvidentaDto::getNrMrn);
+        FIELDS.put("identificare", RegistruEvidentaDto::getIdentificare);
+        FIELDS.put("numeExportator", RegistruEvidentaDto::getNumeExportator);
+        FIELDS.put("buc", RegistruEvidentaDto::getBuc);
+        FIELDS.put("greutate", RegistruEvidentaDto::getGreutate);
+        FIELDS.put("descriereaMarfurilor", RegistruEvidentaDto::getDescriereaMarfurilor);
+    }
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        System.exit(run(args));
+    }
+
+    static int run(String[] args) {
+        Path corpus = null;
+        Path baselineFile = Path.of("src/bench/golden-baseline.properties");
+        int jobs = ExtractorPool.DEFAULT_SIZE;
+        String engineKind = "python";
+        boolean update = false;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--corpus" -> corpus = Path.of(args[++i]);
+                    case "--baseline" -> baselineFile = Path.of(args[++i]);
+                    case "--jobs" -> jobs = Integer.parseInt(args[++i]);
+                    case "--engine" -> engineKind = args[++i];
+                    case "--update-baseline" -> update = true;
+                    default -> throw new IllegalArgumentException("Unknown argument: " + args[i]);
+                }
+            }
+        } catch (RuntimeException e) {
+            return usage("Bad arguments: " + e.getMessage());
+        }
+        if (corpus == null || !Files.isRegularFile(corpus.resolve("expected.csv"))) {
+            return usage("--corpus must be a folder with expected.csv next to its PDFs.");
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        Path work = null;
+        try {
+            Properties baseline = loadBaseline(baselineFile);
+            Map<String, String[]> golden = loadGolden(corpus.resolve("expected.csv"));
+
+            // 1) Full pipeline into a throwaway register, checking each row as it streams past
+            work = Files.createTempDirectory("golden-");
+            File xlsx = work.resolve("registru.xlsx").toFile();
+            Map<String, Integer> hits = new LinkedHashMap<>();
+            FIELDS.keySet().forEach(f -> hits.put(f, 0));
+            Map<String, String> firstMiss = new LinkedHashMap<>();
+            int[] seen = {0};
+
+            long t0 = System.nanoTime();
+            RegisterRun.Summary sum;
+            long workersRss;
+            try (ExtractionEngine engine = ExtractionEngine.open(engineKind, jobs, System.err::println, null)) {
+                PdfFolderService svc = new PdfFolderService(System.err::println, engine);
+                sum = RegisterRun.write(xlsx,
+                        svc.streamResults(corpus.toFile(), p -> true, svc.defaultBufferSize())
+                                .peek(r -> check(r, golden, hits, firstMiss, seen)),
+                        1, ProcessedManifest.load(xlsx), System.err::println);
+                workersRss = descendantsPeakRssKb();     // before close(): the workers are still alive
+            }
+            long wallMs = (System.nanoTime() - t0) / 1_000_000;
+            double filesPerSec = sum.pdfs() * 1000.0 / Math.max(1, wallMs);
+
+            // 2) Compare with the baseline
+            int expected = golden.size();
+            boolean pass = seen[0] == expected;
+            Map<String, Object> accuracy = new LinkedHashMap<>();
+            for (Map.Entry<String, Integer> e : hits.entrySet()) {
+                double acc = expected == 0 ? 1 : e.getValue() / (double) expected;
+                accuracy.put(e.getKey(), round(acc));
+                double min = Double.parseDouble(baseline.getProperty("accuracy." + e.getKey(),
+                        baseline.getProperty("accuracy.min", "1.0")));
+                if (acc < min) pass = false;
+            }
+            double baseFps = Double.parseDouble(baseline.getProperty("filesPerSecond", "0"));
+            double tolerance = Double.parseDouble(baseline.getProperty("throughputTolerance", "0.20"));
+            boolean slower = baseFps > 0 && filesPerSec < baseFps * (1 - tolerance);
+            if (slower) pass = false;
+            if (baseFps <= 0 && !update) {
+                System.err.println("⚠️ Throughput check disabled: no measured filesPerSecond in " + baselineFile);
+            }
+
+            summary.put("status", pass ? "pass" : "regression");
+            summary.put("pdfs", sum.pdfs());
+            summary.put("expected", expected);
+            summary.put("failed", sum.failed());
+            summary.put("accuracy", accuracy);
+            if (!firstMiss.isEmpty()) summary.put("mismatches", firstMiss);
+            summary.put("wallMs", wallMs);
+            summary.put("filesPerSecond", round(filesPerSec));
+            summary.put("baselineFilesPerSecond", baseFps);
+            summary.put("throughputCheck", baseFps > 0 ? (slower ? "regression" : "pass") : "disabled");
+            summary.put("jvmPeakRssMb", peakRssKb(Path.of("/proc/self/status")) / 1024);
+            summary.put("workersPeakRssMb", workersRss / 1024);
+            summary.put("engine", engineKind);
+            summary.put("jobs", jobs);
+
+            if (update) {
+                baseline.setProperty("filesPerSecond", String.format(Locale.ROOT, "%.2f", filesPerSec));
+                try (Writer w = Files.newBufferedWriter(baselineFile, StandardCharsets.UTF_8)) {
+                    baseline.store(w, "golden regression baseline (" + engineKind + ", " + jobs + " jobs)");
+                }
+                System.err.println("✅ Baseline updated: " + baselineFile);
+            }
+            print(summary);
+            return pass || update ? 0 : 1;
+        } catch (Exception e) {
+            summary.put("status", "failed");
+            summary.put("error", String.valueOf(e.getMessage()));
+            print(summary);
+            return 1;
+        } finally {
+            if (work != null) deleteTree(work);
+        }
+    }
+
+    // ------------------------------- helpers -------------------------------
+
+    private static void check(ExtractorResult r, Map<String, String[]> golden, Map<String, Integer> hits,
+                              Map<String, String> firstMiss, int[] seen) {
+        String[] want = golden.get(r.pdf().getFileName().toString());
+        if (want == null) return;
+        seen[0]++;
+        RegistruEvidentaDto row = r.row();
+        int i = 0;
+        for (Map.Entry<String, Function<RegistruEvidentaDto, String>> f : FIELDS.entrySet()) {
+            String got = row == null ? null : clean(f.getValue().apply(row));
+            if (clean(want[i]).equals(got)) {
+                hits.merge(f.getKey(), 1, Integer::sum);
+            } else {
+                firstMiss.putIfAbsent(f.getKey(), r.file() + ": expected '" + want[i] + "', got '" + got + "'");
+            }
+            i++;
+        }
+    }
+
+    private static String clean(String s) {
+        return s == null ? null : s.trim().replaceAll("\\s+", " ");
+    }
+
+    /** file name → golden values in {@link #FIELDS} order, looked up by the CSV header. */
+    private static Map<String, String[]> loadGolden(Path csv) throws Exception {
+        Map<String, String[]> out = new HashMap<>();
+        try (Reader r = Files.newBufferedReader(csv, StandardCharsets.UTF_8); CSVReader reader = new CSVReader(r)) {
+            List<String[]> rows = reader.readAll();
+            if (rows.isEmpty()) return out;
+            List<String> header = List.of(rows.get(0));
+            int fileCol = header.indexOf("file");
+            int[] cols = FIELDS.keySet().stream().mapToInt(header::indexOf).toArray();
+            if (fileCol < 0) throw new IOException("expected.csv has no 'file' column");
+            for (String[] row : rows.subList(1, rows.size())) {
+                String[] values = new String[cols.length];
+                for (int i = 0; i < cols.length; i++) values[i] = cols[i] < 0 ? "" : row[cols[i]];
+                out.put(row[fileCol], values);
+            }
+        }
+        return out;
+    }
+
+    private static Properties loadBaseline(Path file) throws IOException {
+        Properties p = new Properties();
+        if (Files.isRegularFile(file)) {
+            try (Reader r = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                p.load(r);
+            }
+        }
+        return p;
+    }
+
+    /** Sum of VmHWM over the extractor processes; 0 where /proc is not available. */
+    private static long descendantsPeakRssKb() {
+        return ProcessHandle.current().descendants()
+                .mapToLong(p -> peakRssKb(Path.of("/proc", Long.toString(p.pid()), "status")))
+                .sum();
+    }
+
+    private static long peakRssKb(Path status) {
+        try {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith("VmHWM:")) {
+                    return Long.parseLong(line.replaceAll("\\D", ""));
+                }
+            }
+        } catch (IOException | RuntimeException ignored) {
+            // not Linux, or the process is already gone
+        }
+        return 0;
+    }
+
+    /** The throwaway register, its manifest and retry list. */
+    private static void deleteTree(Path dir) {
+        try (Stream<Path> s = Files.walk(dir)) {
+            s.sorted(Comparator.reverseOrder()).forEach(p -> {
+                try { Files.deleteIfExists(p); } catch (IOException ignore) {}
+            });
+        } catch (IOException e) {
+            System.err.println("⚠️ Could not delete " + dir + ": " + e.getMessage());
+        }
+    }
+
+    private static double round(double v) {
+        return Math.round(v * 1000) / 1000.0;
+    }
+
+    private static int usage(String problem) {
+        System.err.println(problem);
+        System.err.println("Usage: GoldenRegression --corpus <dir> [--baseline file.properties] [--jobs N]"
+                + " [--engine python|pdfbox] [--update-baseline]");
+        return 2;
+    }
+
+    private static void print(Map<String, Object> summary) {
+        try {
+            System.out.println(new ObjectMapper().writeValueAsString(summary));
+        } catch (Exception e) {
+            System.out.println("{\"status\":\"failed\",\"error\":\"cannot serialise summary\"}");
+        }
+    }
+}
@@ -0,0 +1,79 @@
+// src/bench/java/org/app/bench/SyntheticRows.java
+package org.app.bench;
+
+import org.app.model.RegistruEvidentaDto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Deterministic register rows in the exact shapes the extractor emits (the ones
+ * {@link EadCorpusGenerator} writes to expected.csv): {@code dd-mm} dates, the MRN
+ * tail after its 11th character, AWB/CMR/Borderou, Romanian diacritics and long goods
+ * descriptions, so cell widths and shared strings behave like production data.
+ */
+public final class SyntheticRows {
+    private SyntheticRows() {}
+
+    private static final String[] EXPORTERS = {
+            "SC AGRO EXPORT SRL", "ȚESĂTORIA MUREȘ SA", "TRANSILVANIA LOGISTIC SRL",
+            "DUNĂREA CEREALE SRL", "BRAȘOV AUTOMOTIVE COMPONENTS SRL"
+    };
+    private static final String[] GOODS = {
+            "Piese auto din oțel", "Grâu", "Mobilier din lemn masiv, asamblat",
+            "Țesături din bumbac, vopsite, lățime peste 115 cm", "Porumb boabe, altul decât pentru sămânță",
+            "Componente electronice pentru sisteme de frânare ABS, ambalate în cutii de carton"
+    };
+    private static final String[] IDENTIFICARE = {"CMR", "AWB", "AWB", "Borderou"};
+
+    /** The "_timings" keys extract.py sends with EXTRACT_TIMINGS=1, in its order. */
+    private static final String[] TIMING_KEYS = {
+            "open", "layout.words", "layout.text", "index", "dataDeclaratie", "nrMrn", "identificare",
+            "numeExportator", "buc", "greutate", "descriereaMarfurilor", "total"
+    };
+
+    /** {@code n} rows from a fixed seed: the same call always returns the same rows. */
+    public static List<RegistruEvidentaDto> rows(int n, long seed) {
+        Random rnd = new Random(seed);
+        List<RegistruEvidentaDto> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) out.add(row(rnd, i));
+        return out;
+    }
+
+    public static RegistruEvidentaDto row(Random rnd, int i) {
+        String mrn = (rnd.nextBoolean() ? "25" : "26") + "RO" + String.format("%06d", rnd.nextInt(1_000_000))
+                + "EX" + String.format("%06d", i % 1_000_000) + (char) ('A' + rnd.nextInt(26)) + rnd.nextInt(10);
+        RegistruEvidentaDto d = new RegistruEvidentaDto();
+        d.setDataDeclaratie(String.format("%02d-%02d", 1 + rnd.nextInt(28), 1 + rnd.nextInt(12)));
+        d.setNrMrn(mrn.substring(11));
+        d.setIdentificare(IDENTIFICARE[rnd.nextInt(IDENTIFICARE.length)]);
+        d.setNumeExportator(EXPORTERS[rnd.nextInt(EXPORTERS.length)]);
+        d.setBuc(Integer.toString(1 + rnd.nextInt(rnd.nextInt(10) == 0 ? 5000 : 60)));
+        d.setGreutate(Integer.toString(50 + rnd.nextInt(24_000)));
+        d.setDescriereaMarfurilor(GOODS[rnd.nextInt(GOODS.length)]);
+        return d;
+    }
+
+    /**
+     * The worker's NDJSON record for {@code d}: buc and greutate as JSON integers (extract.py
+     * returns ints for them), "file", and the "_timings" object the pool always asks for.
+     */
+    public static Map<String, Object> extractorRecord(RegistruEvidentaDto d, String file, Random rnd) {
+        Map<String, Object> rec = new LinkedHashMap<>();
+        rec.put("dataDeclaratie", d.getDataDeclaratie());
+        rec.put("nrMrn", d.getNrMrn());
+        rec.put("identificare", d.getIdentificare());
+        rec.put("numeExportator", d.getNumeExportator());
+        rec.put("buc", d.getBuc() == null ? null : Integer.parseInt(d.getBuc()));
+        rec.put("greutate", d.getGreutate() == null ? null : Integer.parseInt(d.getGreutate()));
+        rec.put("descriereaMarfurilor", d.getDescriereaMarfurilor());
+        rec.put("file", file);
+        Map<String, Double> timings = new LinkedHashMap<>();
+        for (String k : TIMING_KEYS) timings.put(k, Math.round(rnd.nextDouble() * 80_000) / 1000.0);
+        rec.put("_timings", timings);
+        return rec;
+    }
+}
@@ -0,0 +1,84 @@
+// src/bench/java/org/app/controller/ExcelWriterBench.java
+package org.app.controller;
+
+import org.app.bench.SyntheticRows;
+import org.app.model.RegistruEvidentaDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end {@link ExcelWriter#appendOrCreate}: open/create, row writes,
+ * column sizing, serialisation and the atomic move, into a fresh register or
+ * one that already holds {@link #EXISTING} rows. One op = one call, so
+ * rows/s = ops/s × {@code rows}. Run with {@code -prof gc} (the profile's
+ * default) for the allocation rate; {@link ExcelWriterPhasesBench} splits the
+ * time between autosizing and serialisation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Xmx4g"})
+public class ExcelWriterBench {
+
+    static final int EXISTING = 5_000;
+
+    @Param({"1000", "10000", "100000"})
+    public int rows;
+
+    @Param({"fresh", "prepopulated"})
+    public String register;
+
+    private List<RegistruEvidentaDto> data;
+    private Path dir;
+    private Path template;
+    private File target;
+
+    @Setup(Level.Trial)
+    public void trial() throws Exception {
+        data = SyntheticRows.rows(rows, 42);
+        dir = Files.createTempDirectory("bench-xlsx-");
+        target = dir.resolve("registru.xlsx").toFile();
+        if (register.equals("prepopulated")) {
+            template = dir.resolve("template.xlsx");
+            ExcelWriter.appendOrCreate(template.toFile(), SyntheticRows.rows(EXISTING, 7), 1);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() throws Exception {
+        if (template != null) Files.copy(template, target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        else Files.deleteIfExists(target.toPath());
+    }
+
+    @Benchmark
+    public int appendOrCreate() throws Exception {
+        return ExcelWriter.appendOrCreate(target, data, 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanup() throws Exception {
+        try (var s = Files.walk(dir)) {
+            s.sorted((a, b) -> b.compareTo(a)).forEach(p -> p.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,82 @@
+// src/bench/java/org/app/controller/ExcelWriterPhasesBench.java
+package org.app.controller;
+
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.app.bench.SyntheticRows;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The two commit phases of {@link ExcelWriter} on a register of {@code rows}
+ * rows, measured separately: {@code autosize} is
+ * {@link ExcelWriter#applyColumnSizing}, {@code serialise} is
+ * {@code Workbook.write} into a discarding stream (no disk). The workbook is
+ * reloaded before every invocation, outside the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Xmx4g"})
+public class ExcelWriterPhasesBench {
+
+    @Param({"1000", "10000", "100000"})
+    public int rows;
+
+    private Path file;
+    private Workbook wb;
+
+    @Setup(Level.Trial)
+    public void trial() throws Exception {
+        file = Files.createTempFile("bench-phases-", ".xlsx");
+        Files.delete(file);
+        ExcelWriter.appendOrCreate(file.toFile(), SyntheticRows.rows(rows, 42), 1);
+    }
+
+    @Setup(Level.Invocation)
+    public void load() throws Exception {
+        try (var in = Files.newInputStream(file)) {
+            wb = WorkbookFactory.create(in);
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void unload() throws Exception {
+        wb.close();
+    }
+
+    @Benchmark
+    public void autosize() {
+        ExcelWriter.applyColumnSizing(wb.getSheetAt(0));
+    }
+
+    @Benchmark
+    public void serialise() throws Exception {
+        try (OutputStream out = OutputStream.nullOutputStream()) {
+            wb.write(out);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanup() throws Exception {
+        Files.deleteIfExists(file);
+    }
+}
@@ -0,0 +1,128 @@
+// src/bench/java/org/app/service/ExtractorOutputBench.java
+package org.app.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import org.app.bench.SyntheticRows;
+import org.app.model.RegistruEvidentaDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Java side of reading extractor output, old and new in one harness:
+ * <ul>
+ *   <li>{@code treeLegacy}: the original path – trim "[" / "]", {@code readTree},
+ *       per-node {@code treeToValue}, then the key check on the first element;</li>
+ *   <li>{@code dataBinding}: Jackson data binding over the NDJSON lines;</li>
+ *   <li>{@code streaming}: {@link ExtractorOutputParser}, what the pool uses today.</li>
+ * </ul>
+ * Inputs are synthetic worker records ({@code entries} of them, shaped like
+ * {@link SyntheticRows#extractorRecord}), or a recorded NDJSON file via
+ * {@code -p recording=/path/out.ndjson} (then {@code entries} caps it).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ExtractorOutputBench {
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int entries;
+
+    @Param({""})
+    public String recording;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private byte[] ndjson;      // one record per line, what --worker / --ndjson print
+    private String array;       // the old "[{...},{...}]" single-shot output
+
+    @Setup
+    public void setup() throws IOException {
+        List<String> lines = recording.isEmpty() ? synthetic(entries) : recorded(Path.of(recording), entries);
+        ndjson = (String.join("\n", lines) + "\n").getBytes(StandardCharsets.UTF_8);
+        array = "[" + String.join(",", lines) + "]\n";
+    }
+
+    @Benchmark
+    public void treeLegacy(Blackhole bh) throws IOException {
+        // exactly the old processFolder: one substring between the outer brackets, tree, then DTOs
+        String json = array;
+        int s = json.indexOf('[');
+        int e = json.lastIndexOf(']');
+        json = json.substring(s, e + 1);
+        JsonNode root = MAPPER.readTree(json);
+        if (!(root instanceof ArrayNode arr)) throw new IllegalStateException("not a JSON array");
+        for (JsonNode n : arr) bh.consume(MAPPER.treeToValue(n, RegistruEvidentaDto.class));
+        if (arr.size() > 0) {
+            JsonNode first = arr.get(0);
+            for (String key : ExtractorOutputParser.EXPECTED_KEYS) bh.consume(first.has(key));
+        }
+    }
+
+    @Benchmark
+    public void dataBinding(Blackhole bh) throws IOException {
+        try (MappingIterator<RegistruEvidentaDto> it = MAPPER.readerFor(RegistruEvidentaDto.class)
+                .readValues(new ByteArrayInputStream(ndjson))) {
+            while (it.hasNext()) bh.consume(it.next());
+        }
+    }
+
+    @Benchmark
+    public void streaming(Blackhole bh) throws IOException {
+        try (ExtractorOutputParser p = new ExtractorOutputParser(new ByteArrayInputStream(ndjson))) {
+            ExtractorResult r = p.next();
+            if (r != null) {
+                for (String key : ExtractorOutputParser.EXPECTED_KEYS) bh.consume(r.keys().contains(key));
+            }
+            for (; r != null; r = p.next()) bh.consume(r);
+        }
+    }
+
+    // ------------------------------- inputs -------------------------------
+
+    /** Records in the worker's shape: integer buc/greutate and a "_timings" object. */
+    private static List<String> synthetic(int n) throws IOException {
+        List<String> out = new ArrayList<>(n);
+        Random rnd = new Random(7);
+        int i = 0;
+        for (RegistruEvidentaDto d : SyntheticRows.rows(n, 42)) {
+            out.add(MAPPER.writeValueAsString(SyntheticRows.extractorRecord(d, "EAD_" + (i++) + ".pdf", rnd)));
+        }
+        return out;
+    }
+
+    /** Cycles through the recorded lines until there are {@code n}. */
+    private static List<String> recorded(Path file, int n) throws IOException {
+        List<String> src = Files.readAllLines(file, StandardCharsets.UTF_8).stream()
+                .filter(l -> !l.isBlank()).toList();
+        if (src.isEmpty()) throw new IOException("Empty recording: " + file);
+        List<String> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) out.add(src.get(i % src.size()));
+        return out;
+    }
+}
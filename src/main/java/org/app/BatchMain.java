@@ -0,0 +1,129 @@
+package org.app;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.app.service.ExtractionCache;
+import org.app.service.ExtractionEngine;
+import org.app.service.ExtractorPool;
+import org.app.service.PdfFolderService;
+import org.app.service.ProcessedManifest;
+import org.app.service.RegisterRun;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Headless entry point for servers and schedulers: same pipeline as the UI,
+ * no JavaFX. Prints a one-line JSON summary on stdout; logs go to stderr.
+ *
+ * <pre>
+ * java -cp registru-evidenta-export.jar:libs/* org.app.BatchMain \
+ *      --out registru.xlsx [--start 1] [--jobs 4] [--engine python|pdfbox] [--no-cache]
+ *      [--file-timeout SEC] [--run-timeout SEC] folder1 [folder2 ...]
+ * </pre>
+ * Exit codes: 0 ok (status "partial" when some PDFs are on the retry list), 1 run failed, 2 bad arguments.
+ */
+public class BatchMain {
+
+    public static void main(String[] args) {
+        // keep POI's font measuring off any display toolkit, and skip it for column widths
+        System.setProperty("java.awt.headless", "true");
+        System.setProperty("registru.autosize", "false");
+        System.exit(run(args));
+    }
+
+    static int run(String[] args) {
+        ObjectMapper json = new ObjectMapper();
+        Map<String, Object> summary = new LinkedHashMap<>();
+
+        File out = null;
+        int start = 1;
+        int jobs = ExtractorPool.DEFAULT_SIZE;
+        String engineKind = "python";
+        boolean useCache = true;
+        Duration fileTimeout = ExtractorPool.DEFAULT_FILE_TIMEOUT;
+        Duration runTimeout = null;
+        List<File> folders = new ArrayList<>();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--out" -> out = new File(args[++i]);
+                    case "--start" -> start = Integer.parseInt(args[++i]);
+                    case "--jobs" -> jobs = Integer.parseInt(args[++i]);
+                    case "--engine" -> engineKind = engineKind(args[++i]);
+                    case "--no-cache" -> useCache = false;
+                    case "--file-timeout" -> fileTimeout = Duration.ofSeconds(Long.parseLong(args[++i]));
+                    case "--run-timeout" -> runTimeout = Duration.ofSeconds(Long.parseLong(args[++i]));
+                    default -> folders.add(new File(args[i]));
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+            return usage("Bad arguments: " + e.getMessage());
+        }
+        if (out == null || folders.isEmpty()) return usage("Missing --out or input folder.");
+        if (start < 1 || jobs < 1) return usage("--start and --jobs must be >= 1.");
+        for (File f : folders) {
+            if (!f.isDirectory()) return usage("Not a folder: " + f);
+        }
+
+        long t0 = System.nanoTime();
+        summary.put("output", out.getAbsolutePath());
+        summary.put("folders", folders.size());
+        try (ExtractionEngine engine = ExtractionEngine.open(engineKind, jobs, System.err::println,
+                useCache ? ExtractionCache.openDefault() : null)) {
+            engine.setFileTimeout(fileTimeout);
+            PdfFolderService svc = new PdfFolderService(System.err::println, engine).withRunDeadline(runTimeout);
+            ProcessedManifest manifest = ProcessedManifest.load(out);
+
+            // rows are appended while later PDFs are still being extracted
+            RegisterRun.Summary sum = RegisterRun.write(out,
+                    svc.streamResults(folders, manifest::isNewOrChanged, svc.defaultBufferSize()),
+                    start, manifest, System.err::println);
+
+            summary.put("status", sum.failed() > 0 ? "partial" : "ok");
+            summary.put("pdfs", sum.pdfs());
+            summary.put("appended", sum.appended());
+            summary.put("warnings", sum.warnings());
+            summary.put("failed", sum.failed());
+            if (sum.retryList() != null) summary.put("retryList", sum.retryList().toString());
+            summary.put("nextIndex", start + sum.appended());
+            summary.put("engine", engineKind);
+            summary.put("jobs", engine.size());
+            summary.put("wallMs", (System.nanoTime() - t0) / 1_000_000);
+            print(json, summary);
+            return 0;
+        } catch (Exception e) {
+            summary.put("status", "failed");
+            summary.put("error", String.valueOf(e.getMessage()));
+            summary.put("wallMs", (System.nanoTime() - t0) / 1_000_000);
+            print(json, summary);
+            return 1;
+        }
+    }
+
+    private static String engineKind(String kind) {
+        if (!ExtractionEngine.KINDS.contains(kind.toLowerCase(Locale.ROOT))) {
+            throw new IllegalArgumentException("unknown --engine " + kind);
+        }
+        return kind;
+    }
+
+    private static int usage(String problem) {
+        System.err.println(problem);
+        System.err.println("Usage: BatchMain --out <register.xlsx> [--start N] [--jobs N] [--engine python|pdfbox] [--no-cache]"
+                + " [--file-timeout SEC] [--run-timeout SEC] <folder>...");
+        return 2;
+    }
+
+    private static void print(ObjectMapper json, Map<String, Object> summary) {
+        try {
+            System.out.println(json.writeValueAsString(summary));
+        } catch (Exception e) {
+            System.out.println("{\"status\":\"failed\",\"error\":\"cannot serialise summary\"}");
+        }
+    }
+}
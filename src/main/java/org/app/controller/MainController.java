@@ -7,10 +7,18 @@ import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.stage.DirectoryChooser;
 import javafx.stage.Window;
-import org.app.model.RegistruEvidentaDto;
+import org.app.service.ExtractionCache;
+import org.app.service.ExtractionEngine;
+import org.app.service.ExtractionProgress;
+import org.app.service.ExtractorPool;
+import org.app.service.HotFolderWatcher;
 import org.app.service.PdfFolderService;
+import org.app.service.ProcessedManifest;
+import org.app.service.RegisterRun;
+import org.app.service.Threads;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -22,15 +30,25 @@ public class MainController {
     @FXML private TextField folderField;       // non-editable; filled by Browse…
     @FXML private Button    browseButton;
     @FXML private Button    generateButton;
+    @FXML private ToggleButton watchButton;
+    @FXML private Button    cancelButton;
     @FXML private TextArea  logArea;
     @FXML private ProgressIndicator spinner;
+    @FXML private ProgressBar progressBar;      // done / total PDFs of the Generate run
+    @FXML private Label     progressLabel;      // "120 / 5000 PDFs · 4.2 files/s · ETA 19m 22s"
     @FXML private Label     statusLabel;
 
-    private final ExecutorService ioPool = Executors.newSingleThreadExecutor(r -> {
-        Thread t = new Thread(r, "excel-generator");
-        t.setDaemon(true);
-        return t;
-    });
+    // one run at a time; it mostly waits on extractor results, so a virtual thread on Java 21+
+    private final ExecutorService ioPool = Executors.newSingleThreadExecutor(Threads.factory("excel-generator"));
+
+    // started on the first Generate and kept alive, so later runs skip the extractor startup
+    private ExtractionEngine engine;
+
+    // non-null while "Watch Folder" is on; only touched from the ioPool thread
+    private HotFolderWatcher watcher;
+
+    // the Generate run in progress, for the Cancel button (FX thread only)
+    private Task<?> running;
 
     @FXML
     public void initialize() {
@@ -61,7 +79,11 @@ public class MainController {
         BooleanBinding invalidStart = startIndexField.textProperty().isEmpty()
                 .or(startIndexField.textProperty().isEqualTo("0"));
         BooleanBinding noFolder = folderField.textProperty().isEmpty();
-        generateButton.disableProperty().bind(invalidStart.or(noFolder));
+        generateButton.disableProperty().bind(invalidStart.or(noFolder).or(watchButton.selectedProperty()));
+        watchButton.disableProperty().bind(invalidStart.or(noFolder));
+        browseButton.disableProperty().bind(watchButton.selectedProperty());
+        startIndexField.disableProperty().bind(watchButton.selectedProperty());
+        watchButton.setTooltip(new Tooltip("Keep watching the folder and append new PDFs as they arrive."));
 
         spinner.setVisible(false);
         statusLabel.setText("Idle");
@@ -101,29 +123,38 @@ public class MainController {
         setBusy(true, "Generating…");
         appendLog("Starting with Start Nr. Crt. = " + start);
 
-        Task<List<RegistruEvidentaDto>> task = new Task<>() {
+        File xlsx = new File(dir, "registru_evidenta_marfuri_generat.xlsx");
+
+        Task<RegisterRun.Summary> task = new Task<>() {
             @Override
-            protected List<RegistruEvidentaDto> call() throws Exception {
-                PdfFolderService svc = new PdfFolderService(line ->
-                        Platform.runLater(() -> appendLog(line))
-                );
-                return svc.processFolder(dir);
+            protected RegisterRun.Summary call() throws Exception {
+                // only PDFs that are new or changed since they were appended to this register
+                ProcessedManifest manifest = ProcessedManifest.load(xlsx);
+                PdfFolderService svc = new PdfFolderService(MainController.this::appendLog, engine())
+                        .withProgress(new ExtractionProgress(p -> {
+                            // Task coalesces these onto the FX thread
+                            if (p.total() == 0) updateProgress(1, 1);
+                            else updateProgress(p.done(), p.total());
+                            updateMessage(p.describe());
+                        }));
+                // rows go into the register as they arrive, while later PDFs are still being extracted
+                return RegisterRun.write(xlsx,
+                        svc.streamResults(dir, manifest::isNewOrChanged, svc.defaultBufferSize()),
+                        start, manifest, MainController.this::appendLog);
             }
 
             @Override
             protected void succeeded() {
-                List<RegistruEvidentaDto> rows = getValue();
-                File xlsx = new File(dir, "registru_evidenta_marfuri_generat.xlsx");
-                try {
-                    int appended = org.app.controller.ExcelWriter.appendOrCreate(xlsx, rows, start);
-                    appendLog("✅ Wrote " + appended + " row(s) to: " + xlsx.getName());
-                    statusLabel.setText("Completed");
-                } catch (Exception ex) {
-                    appendLog("❌ Excel write failed: " + ex.getMessage());
-                    statusLabel.setText("Failed");
-                } finally {
-                    setBusy(false, statusLabel.getText());
-                }
+                RegisterRun.Summary sum = getValue();
+                appendLog("✅ Wrote " + sum.appended() + " row(s) to: " + xlsx.getName()
+                        + (sum.warnings() > 0 ? " (" + sum.warnings() + " with empty fields)" : ""));
+                setBusy(false, sum.failed() > 0 ? "Completed, " + sum.failed() + " failed" : "Completed");
+            }
+
+            @Override
+            protected void cancelled() {
+                appendLog("⏹ Cancelled; extractor processes stopped.");
+                setBusy(false, "Cancelled");
             }
 
             @Override
@@ -137,24 +168,84 @@ public class MainController {
         spinner.visibleProperty().unbind();
         spinner.visibleProperty().bind(task.runningProperty());
 
+        progressBar.progressProperty().unbind();
+        progressBar.progressProperty().bind(task.progressProperty());
+        progressLabel.textProperty().unbind();
+        progressLabel.textProperty().bind(task.messageProperty());
+
         browseButton.disableProperty().unbind();
-        browseButton.disableProperty().bind(task.runningProperty());
+        browseButton.disableProperty().bind(task.runningProperty().or(watchButton.selectedProperty()));
 
         generateButton.disableProperty().unbind();
         BooleanBinding invalidStart = startIndexField.textProperty().isEmpty()
                 .or(startIndexField.textProperty().isEqualTo("0"));
         BooleanBinding noFolder = folderField.textProperty().isEmpty();
         generateButton.disableProperty().bind(
-                invalidStart.or(noFolder).or(task.runningProperty())
+                invalidStart.or(noFolder).or(task.runningProperty()).or(watchButton.selectedProperty())
         );
 
+        watchButton.disableProperty().unbind();
+        watchButton.disableProperty().bind(invalidStart.or(noFolder).or(task.runningProperty()));
+
         startIndexField.disableProperty().unbind();
-        startIndexField.disableProperty().bind(task.runningProperty());
+        startIndexField.disableProperty().bind(task.runningProperty().or(watchButton.selectedProperty()));
 
+        cancelButton.disableProperty().unbind();
+        cancelButton.disableProperty().bind(task.runningProperty().not());
+
+        running = task;
         ioPool.submit(task);
     }
 
 
+    @FXML
+    private void onCancel() {
+        // interrupts the run; the engine kills the extractor processes still working on it
+        if (running != null && running.isRunning()) {
+            appendLog("Cancelling…");
+            running.cancel(true);
+        }
+    }
+
+    @FXML
+    private void onWatch() {
+        if (!watchButton.isSelected()) {
+            ioPool.submit(() -> {
+                if (watcher != null) {
+                    watcher.close();
+                    watcher = null;
+                }
+                Platform.runLater(() -> setBusy(false, "Idle"));
+            });
+            return;
+        }
+
+        Integer start = parsePositiveIntOrNull(startIndexField.getText());
+        File dir = new File(folderField.getText());
+        if (start == null || !dir.isDirectory()) {
+            alert("Please choose a valid PDF folder and start index (≥ 1).");
+            watchButton.setSelected(false);
+            return;
+        }
+
+        setBusy(true, "Watching…");
+        File xlsx = new File(dir, "registru_evidenta_marfuri_generat.xlsx");
+        ioPool.submit(() -> {
+            try {
+                PdfFolderService svc = new PdfFolderService(this::appendLog, engine());
+                watcher = new HotFolderWatcher(List.of(dir.toPath()), xlsx, start, svc, this::appendLog);
+                watcher.start();
+            } catch (Exception ex) {
+                watcher = null;
+                appendLog("❌ Cannot watch folder: " + ex.getMessage());
+                Platform.runLater(() -> {
+                    watchButton.setSelected(false);
+                    setBusy(false, "Failed");
+                });
+            }
+        });
+    }
+
     @FXML
     private void onClearLog() {
         logArea.clear();
@@ -162,6 +253,17 @@ public class MainController {
     }
 
     // ---- Helpers ----
+    private ExtractionEngine engine() throws IOException {
+        // only touched from the single ioPool thread
+        if (engine == null) {
+            // -Dregistru.engine=pdfbox switches to the in-JVM extractor
+            engine = ExtractionEngine.open(System.getProperty("registru.engine"), ExtractorPool.DEFAULT_SIZE,
+                    this::appendLog, ExtractionCache.openDefault());
+            appendLog("Started " + engine.size() + " extractor worker(s).");
+        }
+        return engine;
+    }
+
     private void setBusy(boolean busy, String status) {
         statusLabel.setText(status);
     }
@@ -28,6 +28,9 @@ public class NativeExtractor {
             throw new UnsupportedOperationException("Unsupported OS: " + os);
         }
 
+        PipelineEvents.ExtractorUnpack ev = new PipelineEvents.ExtractorUnpack();
+        ev.begin();
+
         // load the binary from the JAR
         try (InputStream in = NativeExtractor.class.getResourceAsStream(resourcePath)) {
             if (in == null) {
@@ -43,6 +46,9 @@ public class NativeExtractor {
             tmp.toFile().setExecutable(true, true);
             tmp.toFile().deleteOnExit();
 
+            ev.path = tmp.toString();
+            ev.bytes = Files.size(tmp);
+            ev.commit();
             return tmp;
         }
     }
@@ -0,0 +1,115 @@
+// src/main/java/org/app/helper/PipelineEvents.java
+package org.app.helper;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder events for every phase of a run. They cost next to
+ * nothing unless a recording is on, e.g.
+ * {@code java -XX:StartFlightRecording=filename=run.jfr,settings=profile ...};
+ * open the file in JDK Mission Control and filter on the "Registru" category
+ * to line the phases up with GC, file I/O and thread activity.
+ */
+public final class PipelineEvents {
+    private PipelineEvents() {}
+
+    // ------------------------------- extractor -------------------------------
+
+    @Name("org.app.ExtractorUnpack")
+    @Label("Extractor Unpack")
+    @Category({"Registru", "Extractor"})
+    @Description("Copying the bundled extractor binary out of the jar")
+    @StackTrace(false)
+    public static final class ExtractorUnpack extends Event {
+        @Label("Path") public String path;
+        @Label("Size") @DataAmount public long bytes;
+    }
+
+    @Name("org.app.ProcessSpawn")
+    @Label("Extractor Process Spawn")
+    @Category({"Registru", "Extractor"})
+    @StackTrace(false)
+    public static final class ProcessSpawn extends Event {
+        @Label("Worker") public int worker;
+        @Label("PID") public long pid;
+    }
+
+    @Name("org.app.StdoutDrain")
+    @Label("Extractor Round Trip")
+    @Category({"Registru", "Extractor"})
+    @Description("From writing the PDF path to the worker until its record has been read off stdout")
+    @StackTrace(false)
+    public static final class StdoutDrain extends Event {
+        @Label("Worker") public int worker;
+        @Label("File") public String file;
+    }
+
+    @Name("org.app.RecordParse")
+    @Label("JSON Parse + DTO Mapping")
+    @Category({"Registru", "Extractor"})
+    @Description("Streaming one NDJSON record onto a DTO, from its first token to its last")
+    @StackTrace(false)
+    public static final class RecordParse extends Event {
+        @Label("File") public String file;
+        @Label("Fields") public int fields;
+    }
+
+    // ------------------------------- workbook -------------------------------
+
+    @Name("org.app.WorkbookOpen")
+    @Label("Workbook Open")
+    @Category({"Registru", "Workbook"})
+    @StackTrace(false)
+    public static final class WorkbookOpen extends Event {
+        @Label("Path") public String path;
+        @Label("Created") public boolean created;
+        @Label("Size") @DataAmount public long bytes;
+    }
+
+    @Name("org.app.HeaderValidation")
+    @Label("Header Validation")
+    @Category({"Registru", "Workbook"})
+    @StackTrace(false)
+    public static final class HeaderValidation extends Event {}
+
+    @Name("org.app.FindNextEmptyRow")
+    @Label("Find Next Empty Row")
+    @Category({"Registru", "Workbook"})
+    @StackTrace(false)
+    public static final class FindNextEmptyRow extends Event {
+        @Label("Row") public int row;
+    }
+
+    @Name("org.app.RowWrite")
+    @Label("Row Write")
+    @Category({"Registru", "Workbook"})
+    @StackTrace(false)
+    public static final class RowWrite extends Event {
+        @Label("Row") public int row;
+        @Label("Nr. crt.") public int index;
+    }
+
+    @Name("org.app.ColumnSizing")
+    @Label("Column Sizing")
+    @Category({"Registru", "Workbook"})
+    @StackTrace(false)
+    public static final class ColumnSizing extends Event {
+        @Label("Rows") public int rows;
+    }
+
+    @Name("org.app.WorkbookSave")
+    @Label("Workbook Write + Atomic Move")
+    @Category({"Registru", "Workbook"})
+    @StackTrace(false)
+    public static final class WorkbookSave extends Event {
+        @Label("Path") public String path;
+        @Label("Size") @DataAmount public long bytes;
+        @Label("Atomic Move") public boolean atomic;
+    }
+}
@@ -0,0 +1,360 @@
+// src/main/java/org/app/service/EadFields.java
+package org.app.service;
+
+import org.app.model.RegistruEvidentaDto;
+import org.app.service.PdfWords.Word;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Java port of the field logic in python/extract.py (same anchors, tolerances and
+ * fallbacks). Keep the two in step: a change to one extractor belongs in both.
+ */
+final class EadFields {
+    private EadFields() {}
+
+    // Python's re.I on str patterns is Unicode-aware; so are \s, \d and \b
+    private static final int I = Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE | Pattern.UNICODE_CHARACTER_CLASS;
+    private static final int U = Pattern.UNICODE_CHARACTER_CLASS;
+
+    static RegistruEvidentaDto extract(PdfWords.Layout layout, String fileName) {
+        List<Word> words = layout.words();
+        List<String> pageTexts = layout.pageTexts();
+
+        RegistruEvidentaDto dto = new RegistruEvidentaDto();
+        dto.setDataDeclaratie(extractDataDeclaratie(words));
+        dto.setNrMrn(extractMrn(words, fileName));
+        dto.setIdentificare(extractIdentificareFromPages(pageTexts));
+        dto.setNumeExportator(extractExporter(words));
+        dto.setBuc(str(extractBucFromPages(pageTexts)));
+        dto.setGreutate(str(extractGreutate(words)));
+        dto.setDescriereaMarfurilor(extractDescriereFromPages(pageTexts));
+        return dto;
+    }
+
+    // ------------------------ utilities ------------------------
+
+    static String stripAccents(String s) {
+        return Normalizer.normalize(s, Normalizer.Form.NFD).replaceAll("\\p{Mn}", "");
+    }
+
+    static String norm(String s) {
+        return stripAccents(s == null ? "" : s).toLowerCase(Locale.ROOT).strip();
+    }
+
+    static List<Word> sameLine(List<Word> words, int page, double top, double bottom) {
+        final double tol = 2.5;
+        List<Word> out = new ArrayList<>();
+        for (Word w : words) {
+            if (w.page() == page && !(w.bottom() < top - tol || w.top() > bottom + tol)) out.add(w);
+        }
+        return out;
+    }
+
+    /** Substring of txt after startPat and before the earliest of endPats (null if startPat is absent). */
+    static String sliceBetween(String txt, Pattern startPat, List<Pattern> endPats) {
+        Matcher m = startPat.matcher(txt);
+        if (!m.find()) return null;
+        int start = m.end();
+        int end = txt.length();
+        for (Pattern p : endPats) {
+            Matcher mm = p.matcher(txt);
+            while (mm.find()) {
+                if (mm.start() > start) {
+                    end = Math.min(end, mm.start());
+                    break;
+                }
+            }
+        }
+        return txt.substring(start, end);
+    }
+
+    private static List<String> splitLines(String txt) {
+        List<String> out = new ArrayList<>(Arrays.asList(txt.split("\\R", -1)));
+        // like str.splitlines(): no trailing empty element for a final line break
+        if (!out.isEmpty() && out.get(out.size() - 1).isEmpty()) out.remove(out.size() - 1);
+        return out;
+    }
+
+    private static String joinText(List<Word> ws) {
+        return ws.stream().map(Word::text).collect(Collectors.joining(" "));
+    }
+
+    private static String str(Long v) {
+        return v == null ? null : Long.toString(v);
+    }
+
+    // ------------------------ generic fields ------------------------
+
+    private static final Pattern CHECK_TICK = Pattern.compile("^[Xx☒✓✔✘]$");
+    private static final Pattern FIELD_CODE_TOKEN = Pattern.compile("\\[?\\d{1,2}\\]?|\\[|\\]", U);
+
+    /** First uppercase-ish line below 'Exportator [13 01]'. Skip 'Nr:' VAT line; strip leading checkbox. */
+    static String extractExporter(List<Word> words) {
+        for (Word w : words) {
+            if (!norm(w.text()).startsWith("exportator")) continue;
+            int page = w.page();
+            double bottom = w.bottom();
+            List<Word> nxt = new ArrayList<>();
+            for (Word ww : words) {
+                if (ww.page() == page && bottom < ww.top() && ww.top() <= bottom + 60) nxt.add(ww);
+            }
+            nxt.sort(Comparator.comparingDouble(Word::top).thenComparingDouble(Word::x0));
+
+            // group into lines
+            List<List<Word>> lineGroups = new ArrayList<>();
+            double groupTop = 0;
+            for (Word ww : nxt) {
+                if (lineGroups.isEmpty() || Math.abs(groupTop - ww.top()) > 2.5) {
+                    lineGroups.add(new ArrayList<>(List.of(ww)));
+                    groupTop = ww.top();
+                } else {
+                    lineGroups.get(lineGroups.size() - 1).add(ww);
+                }
+            }
+            for (List<Word> ln : lineGroups) {
+                List<Word> tokens = new ArrayList<>(ln);
+                String raw = joinText(tokens).strip();
+                if (norm(raw).startsWith("nr")) continue;
+                while (!tokens.isEmpty() && CHECK_TICK.matcher(tokens.get(0).text()).matches()) tokens.remove(0);
+                List<String> cleaned = new ArrayList<>();
+                for (Word t : tokens) {
+                    if (FIELD_CODE_TOKEN.matcher(t.text()).matches()) continue;
+                    cleaned.add(t.text());
+                }
+                String name = String.join(" ", cleaned).strip();
+                if (!name.isEmpty()) return name;
+            }
+        }
+        return null;
+    }
+
+    private static final Pattern MASS_NUMBER = Pattern.compile("^(?:\\d{1,3}(?:[.,]\\d{3})*|\\d+(?:[.,]\\d+)?)$", U);
+
+    /** Greutate (gross mass) just below 'Masa ... brută [18 04]'; take integer part. */
+    static Long extractGreutate(List<Word> words) {
+        for (Word w : words) {
+            if (!norm(w.text()).equals("masa")) continue;
+            List<Word> band = sameLine(words, w.page(), w.top(), w.bottom());
+            if (band.stream().noneMatch(ww -> norm(ww.text()).contains("brut"))) continue;
+            double x0 = w.x0() - 20, x1 = w.x1() + 140;
+            List<Word> candidates = new ArrayList<>();
+            for (Word ww : words) {
+                if (ww.page() == w.page()
+                        && w.bottom() <= ww.top() && ww.top() <= w.bottom() + 24
+                        && x0 <= ww.x0() && ww.x0() <= x1
+                        && MASS_NUMBER.matcher(ww.text()).matches()) {
+                    candidates.add(ww);
+                }
+            }
+            if (candidates.isEmpty()) continue;
+            candidates.sort(Comparator.<Word>comparingDouble(ww -> Math.abs(ww.top() - w.bottom()))
+                    .thenComparingDouble(Word::x0));
+            String val = candidates.get(0).text();
+            if (val.contains(",") || val.contains(".")) val = val.split("[.,]", -1)[0];
+            try {
+                return Long.parseLong(val.replace(" ", "").replace("\u00A0", "").replace(".", ""));
+            } catch (NumberFormatException ignore) {
+                // try the next anchor
+            }
+        }
+        return null;
+    }
+
+    private static String mrnFromToken(String tok) {
+        String s = tok.toUpperCase(Locale.ROOT).replaceAll("[^A-Z0-9]", "");
+        if ((s.startsWith("25RO") || s.startsWith("26RO")) && s.length() >= 18) return s.substring(11);
+        return null;
+    }
+
+    /** Find token starting with '25RO...' and return substring AFTER the 11th char (no C/N assumption). */
+    static String extractMrn(List<Word> words, String filename) {
+        for (Word w : words) {
+            String m = mrnFromToken(w.text());
+            if (m != null) return m;
+        }
+        String joined = words.stream().map(Word::text).collect(Collectors.joining()).replaceAll("(?U)\\s+", "");
+        String m2 = mrnFromToken(joined);
+        if (m2 != null) return m2;
+        if (filename != null) {
+            int dot = filename.lastIndexOf('.');
+            String base = dot > 0 ? filename.substring(0, dot) : filename;
+            return mrnFromToken(base);
+        }
+        return null;
+    }
+
+    private static final Pattern DATE = Pattern.compile("\\b(\\d{1,2})[./-](\\d{1,2})(?:[./-]\\d{2,4})?\\b", U);
+
+    private static String ddMm(Matcher m) {
+        return String.format("%2s-%2s", m.group(1), m.group(2)).replace(' ', '0');
+    }
+
+    /** Find first date; return dd-mm. */
+    static String extractDataDeclaratie(List<Word> words) {
+        for (Word w : words) {
+            if (!norm(w.text()).contains("data")) continue;
+            Matcher m = DATE.matcher(joinText(sameLine(words, w.page(), w.top(), w.bottom())));
+            if (m.find()) return ddMm(m);
+        }
+        for (Word w : words) {
+            Matcher m = DATE.matcher(w.text());
+            if (m.find()) return ddMm(m);
+        }
+        return null;
+    }
+
+    private static final Pattern TRANSPORT_HDR = Pattern.compile(
+            "Documentul\\s+de\\s+transport\\b(?:\\s*[-–—]?\\s*[^\\[]*)?\\[\\s*12\\s*05\\s*\\]"
+                    + "|\\bDocumentul\\s+de\\s+transport\\b", I);
+    private static final Pattern TRANSPORT_END = Pattern.compile(
+            "Documentul\\s+precedent\\b(?:\\s*[-–—]?\\s*[^\\[]*)?\\[\\s*12\\s*01\\s*\\]"
+                    + "|\\bDocumentul\\s+precedent\\b", I);
+    private static final Pattern AWB = Pattern.compile("\\bN\\s*74[0O1]\\b", I);
+    private static final Pattern CMR = Pattern.compile("\\bN\\s*73[0O]\\b", I);
+    private static final Pattern BORDEROU = Pattern.compile("\\bN\\s*787\\b", I);
+
+    private static String scanTransport(String t) {
+        List<int[]> hdrs = new ArrayList<>();
+        Matcher h = TRANSPORT_HDR.matcher(t);
+        while (h.find()) hdrs.add(new int[]{h.start(), h.end()});
+        if (hdrs.isEmpty()) return null;
+        List<Integer> ends = new ArrayList<>();
+        Matcher e = TRANSPORT_END.matcher(t);
+        while (e.find()) ends.add(e.start());
+        for (int[] m : hdrs) {
+            int endPos = ends.stream().filter(x -> x > m[1]).min(Integer::compare).orElse(t.length());
+            String seg = t.substring(m[1], endPos);
+            if (BORDEROU.matcher(seg).find()) return "Borderou";
+            if (AWB.matcher(seg).find()) return "AWB";
+            if (CMR.matcher(seg).find()) return "CMR";
+        }
+        return null;
+    }
+
+    /** AWB/CMR inside 'Documentul de transport [12 05]' ... 'Documentul precedent [12 01]'. */
+    static String extractIdentificareFromPages(List<String> pageTexts) {
+        for (String txt : pageTexts) {
+            String found = scanTransport(stripAccents(txt));
+            if (found != null) return found;
+        }
+        return scanTransport(stripAccents(String.join("\n", pageTexts)));
+    }
+
+    // ------------------------ the two fixed fields ------------------------
+
+    // "N\\s*E" is a literal backslash in extract.py as well; kept identical on purpose
+    private static final String HEADS = "(?:PC|PX|COLI|COL|CT|BX|PAL(?:ETI|ET)?|PCE|PCS|N\\\\s*E|NE)";
+    private static final Pattern PACKAGES_START = Pattern.compile("\\[\\s*18\\s*06\\s*\\]", I);
+    private static final List<Pattern> PACKAGES_END = List.of(
+            Pattern.compile("Descrierea\\s+m[ăa]rfurilor", I),
+            Pattern.compile("Cod\\s+nomenclatur[ăa]\\s+combinat[ăa]", I),
+            Pattern.compile("\\bValoarea\\b", I),
+            Pattern.compile("\\bMasa\\b", I),
+            Pattern.compile("\\bRegim", I));
+    private static final Pattern PIECES_SLASHED = Pattern.compile(HEADS + "\\s*/\\s*(\\d{1,6})\\s*/", I);
+    private static final Pattern PIECES_LINE = Pattern.compile(
+            "(?m)^[^\\S\\r\\n]*" + HEADS + "\\s*(?:/|\\s)\\s*(\\d{1,6})\\b", U);
+
+    /** Pieces count from inside the packages section only ('[18 06]' up to the next major header). */
+    static Long extractBucFromPages(List<String> pageTexts) {
+        for (String txt : pageTexts) {
+            String seg = sliceBetween(stripAccents(txt), PACKAGES_START, PACKAGES_END);
+            if (seg == null || seg.isEmpty()) continue;
+            // try 'head / N /' form first, then the line-start tolerant variant
+            Matcher m = PIECES_SLASHED.matcher(seg);
+            if (!m.find()) {
+                m = PIECES_LINE.matcher(seg);
+                if (!m.find()) continue;
+            }
+            long v = Long.parseLong(m.group(1));
+            if (v >= 1 && v <= 1_000_000) return v;
+        }
+        return null;
+    }
+
+    private static final Pattern DESCRIPTION_START = Pattern.compile(
+            "Descrierea\\s+m[ăa]rfurilor(?:\\s*[-–—]?\\s*\\[\\s*18\\s*05\\s*\\])?", I);
+    private static final List<Pattern> DESCRIPTION_END = List.of(
+            Pattern.compile("Cod\\s+nomenclatur[ăa]\\s+combinat[ăa]", I),
+            Pattern.compile("\\bValoarea\\b", I),
+            Pattern.compile("\\bMasa\\b", I),
+            Pattern.compile("Tipul\\s+si\\s+nr\\.?\\s+de\\s+colete", I),
+            Pattern.compile("\\bRegim", I));
+    private static final Pattern DESCRIPTION_HEADER = Pattern.compile("descrierea\\s+marfurilor", I);
+    private static final String[] BAD_STARTS = {
+            "Expeditor", "Destinatar", "Alt", "Ţara", "Tara", "Cod ", "Unită", "Tipul", "Regim", "Valoarea", "Masa", "Totalul"};
+
+    private static String cleanCandidate(String candidate) {
+        if (candidate == null || candidate.isEmpty()) return null;
+        if (candidate.contains("[") || candidate.contains("]")) {
+            // If a value is present after the last field-code bracket, keep it.
+            if (!candidate.contains("]")) return null;
+            String tail = candidate.substring(candidate.lastIndexOf(']') + 1).strip();
+            tail = tail.replaceFirst("(?U)^[\\s:\\-–—]+", "");
+            if (tail.isEmpty()) return null;
+            candidate = tail;
+        }
+        for (String bad : BAD_STARTS) {
+            if (candidate.startsWith(bad)) return null;
+        }
+        candidate = candidate.replaceFirst("(?U)^\\s*\\d+[.)]?\\s+", "");
+        candidate = candidate.replaceAll("(?U)\\s*-\\s*", " - ");
+        candidate = candidate.replaceAll("(?U)\\s+([.,;:])", "$1");
+        candidate = candidate.replaceAll("(?U)\\s{2,}", " ").strip();
+        return candidate.isEmpty() ? null : candidate;
+    }
+
+    /** Description from inside 'Descrierea mărfurilor [18 05]' up to the next major header. */
+    static String extractDescriereFromPages(List<String> pageTexts) {
+        for (String txt : pageTexts) {
+            // keep original spacing for nicer output, but use accent-stripped for slicing
+            String seg = sliceBetween(stripAccents(txt), DESCRIPTION_START, DESCRIPTION_END);
+            if (seg == null || seg.isEmpty()) continue;
+
+            List<String> lines = splitLines(txt).stream().map(String::stripTrailing).collect(Collectors.toList());
+            List<String> normLines = lines.stream()
+                    .map(ln -> stripAccents(ln).toLowerCase(Locale.ROOT)).collect(Collectors.toList());
+
+            Integer headerIdx = null;
+            for (int i = 0; i < normLines.size(); i++) {
+                if (DESCRIPTION_HEADER.matcher(normLines.get(i)).find()) {
+                    headerIdx = i;
+                    break;
+                }
+            }
+            if (headerIdx == null) {
+                // Handle header split across two lines: "Descrierea" / "mărfurilor"
+                for (int i = 0; i < normLines.size() - 1; i++) {
+                    if (normLines.get(i).contains("descrierea") && normLines.get(i + 1).contains("marfurilor")) {
+                        headerIdx = i + 1;
+                        break;
+                    }
+                }
+            }
+
+            if (headerIdx != null) {
+                for (int j = headerIdx + 1; j < Math.min(headerIdx + 8, lines.size()); j++) {
+                    String cleaned = cleanCandidate(lines.get(j).strip());
+                    if (cleaned != null) return cleaned;
+                }
+            }
+
+            // Fallback: if header line couldn't be located, use the sliced segment directly.
+            String segOrig = sliceBetween(txt, DESCRIPTION_START, DESCRIPTION_END);
+            for (String ln : splitLines(segOrig == null ? "" : segOrig)) {
+                String cleaned = cleanCandidate(ln.strip());
+                if (cleaned != null) return cleaned;
+            }
+        }
+        return null;
+    }
+}
@@ -1,6 +1,7 @@
 package org.app.controller;
 
 import org.apache.poi.ss.util.RegionUtil;
+import org.app.helper.PipelineEvents;
 import org.app.model.RegistruEvidentaDto;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.ss.util.CellRangeAddress;
@@ -101,102 +102,184 @@ public final class ExcelWriter {
     public static int appendOrCreate(File xlsxFile, List<RegistruEvidentaDto> rows, int startIndex) throws Exception {
         if (rows == null || rows.isEmpty()) return 0;
 
-        final Path path = xlsxFile.toPath();
-        final boolean exists = Files.exists(path);
-
-        Workbook wb;
-        Sheet sheet;
-        if (!exists) {
-            wb = new XSSFWorkbook();
-            sheet = wb.createSheet("Registru");
-            addTopBanner(sheet, wb);
-            createHeader(sheet, wb, 2);
-        } else {
-            try (InputStream is = Files.newInputStream(path, StandardOpenOption.READ)) {
-                wb = WorkbookFactory.create(is); // read-write in memory
-            } catch (Exception e) {
-                throw new IOException("Existing Excel is unreadable/corrupted: " + xlsxFile.getName(), e);
-            }
-            sheet = wb.getNumberOfSheets() > 0 ? wb.getSheetAt(0) : wb.createSheet("Registru");
-            validateHeaderOrThrow(sheet);
+        try (Session session = open(xlsxFile, startIndex)) {
+            for (RegistruEvidentaDto dto : rows) session.append(dto);
+            return session.commit();
         }
+    }
 
-        // one centered style for all data cells
-        CellStyle dataStyle = createHandwritingDataStyle(wb);
-        dataStyle.setAlignment(HorizontalAlignment.CENTER);
-        dataStyle.setVerticalAlignment(VerticalAlignment.CENTER);
-        dataStyle.setWrapText(true);
-        dataStyle.setBorderTop(BorderStyle.THIN);
-        dataStyle.setBorderBottom(BorderStyle.THIN);
-        dataStyle.setBorderLeft(BorderStyle.THIN);
-        dataStyle.setBorderRight(BorderStyle.THIN);
+    /**
+     * Starts an append session: rows are added one at a time (e.g. while later PDFs
+     * are still being extracted) and the file is only replaced by {@link Session#commit()}.
+     * The workbook is loaded on the first {@code append}, so that overlaps with extraction too.
+     */
+    public static Session open(File xlsxFile, int startIndex) {
+        return new Session(xlsxFile, startIndex);
+    }
 
-        int nextRow = findNextEmptyDataRow(sheet);
-        int idx = startIndex;
+    /** One in-memory workbook being appended to; closing without commit leaves the file untouched. */
+    public static final class Session implements AutoCloseable {
+        private final File xlsxFile;
+        private final Path path;
+        private Workbook wb;
+        private Sheet sheet;
+        private CellStyle dataStyle;
+        private int nextRow;
+        private int idx;
+        private int appended;
+
+        private Session(File xlsxFile, int startIndex) {
+            this.xlsxFile = xlsxFile;
+            this.path = xlsxFile.toPath();
+            this.idx = startIndex;
+        }
 
-        for (RegistruEvidentaDto dto : rows) {
+        public void append(RegistruEvidentaDto dto) throws IOException {
+            if (wb == null) load();
+            PipelineEvents.RowWrite ev = new PipelineEvents.RowWrite();
+            ev.begin();
             Row r = sheet.getRow(nextRow);
             if (r == null) r = sheet.createRow(nextRow);
-            int c = 0;
+            writeRow(r, dto, idx, dataStyle);
+            ev.row = nextRow;
+            ev.index = idx;
+            ev.commit();
+            idx++;
+            nextRow++;
+            appended++;
+        }
 
-            // 1) Nr. crt.
-            setNumber(r, c++, idx++, dataStyle);
+        public int appended() {
+            return appended;
+        }
 
-            // 2) Data (from your DTO – adjust getter name to your model)
-            setText(r, c++, safe(dto.getDataDeclaratie()), dataStyle);
+        /** Writes the workbook (if anything was appended) and returns the number of rows added. */
+        public int commit() throws IOException {
+            if (appended == 0) return 0;
+
+            // sizing & freeze
+            PipelineEvents.ColumnSizing sizing = new PipelineEvents.ColumnSizing();
+            sizing.begin();
+            applyColumnSizing(sheet);       // merged-aware autosize + min widths
+            sheet.createFreezePane(0, 4);
+            sizing.rows = sheet.getLastRowNum() + 1;
+            sizing.commit();
+
+            // safe write: temp then atomic replace
+            PipelineEvents.WorkbookSave save = new PipelineEvents.WorkbookSave();
+            save.begin();
+            Path tmp = tempSibling(path, ".tmp");
+            try (OutputStream os = Files.newOutputStream(tmp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                wb.write(os);
+            } finally {
+                close();
+            }
+            save.bytes = Files.size(tmp);
+            save.atomic = true;
+            try { Files.move(tmp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING); }
+            catch (AtomicMoveNotSupportedException e) {
+                save.atomic = false;
+                Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+            save.path = path.toString();
+            save.commit();
 
-            // 3..6) Documente însoțitoare
-            setText(r, c++, "SAD", dataStyle);                         // Felul (or leave empty if you prefer)
-            setText(r, c++, safe(dto.getNrMrn()), dataStyle);          // Numărul (MRN)
-            setText(r, c++, safe(dto.getDataDeclaratie()), dataStyle); // Data document
-            setText(r, c++, "", dataStyle);                            // De unde provine
+            return appended;
+        }
 
-            // 7) Transport identificare
-            setText(r, c++, safe(dto.getIdentificare()), dataStyle);
+        @Override
+        public void close() {
+            if (wb == null) return;
+            try { wb.close(); } catch (Exception ignore) {}
+            wb = null;
+        }
 
-            // 8) Exportator / Expeditor
-            setText(r, c++, safe(dto.getNumeExportator()), dataStyle);
+        private void load() throws IOException {
+            PipelineEvents.WorkbookOpen open = new PipelineEvents.WorkbookOpen();
+            open.begin();
+            open.path = path.toString();
+            open.created = !Files.exists(path);
+            if (open.created) {
+                wb = new XSSFWorkbook();
+                sheet = wb.createSheet("Registru");
+                addTopBanner(sheet, wb);
+                createHeader(sheet, wb, 2);
+            } else {
+                try (InputStream is = Files.newInputStream(path, StandardOpenOption.READ)) {
+                    wb = WorkbookFactory.create(is); // read-write in memory
+                } catch (Exception e) {
+                    throw new IOException("Existing Excel is unreadable/corrupted: " + xlsxFile.getName(), e);
+                }
+                open.bytes = Files.size(path);
+                sheet = wb.getNumberOfSheets() > 0 ? wb.getSheetAt(0) : wb.createSheet("Registru");
+                open.commit();
+
+                PipelineEvents.HeaderValidation header = new PipelineEvents.HeaderValidation();
+                header.begin();
+                validateHeaderOrThrow(sheet);
+                header.commit();
+            }
+            if (open.created) open.commit();
+
+            // one centered style for all data cells
+            dataStyle = createHandwritingDataStyle(wb);
+            dataStyle.setAlignment(HorizontalAlignment.CENTER);
+            dataStyle.setVerticalAlignment(VerticalAlignment.CENTER);
+            dataStyle.setWrapText(true);
+            dataStyle.setBorderTop(BorderStyle.THIN);
+            dataStyle.setBorderBottom(BorderStyle.THIN);
+            dataStyle.setBorderLeft(BorderStyle.THIN);
+            dataStyle.setBorderRight(BorderStyle.THIN);
+
+            PipelineEvents.FindNextEmptyRow find = new PipelineEvents.FindNextEmptyRow();
+            find.begin();
+            nextRow = findNextEmptyDataRow(sheet);
+            find.row = nextRow;
+            find.commit();
+        }
+    }
 
-            // 9..11) Colete
-            setText(r, c++, "", dataStyle);                            // Felul coletelor
-            String buc = safe(dto.getBuc());
-            if (isNumeric(buc)) setNumber(r, c++, Double.parseDouble(buc.replace(",", ".")), dataStyle);
-            else setText(r, c++, buc, dataStyle);                      // Buc.
-            setText(r, c++, "", dataStyle);                            // Mărci și numere
+    private static void writeRow(Row r, RegistruEvidentaDto dto, int idx, CellStyle dataStyle) {
+        int c = 0;
 
-            // 12) Greutate
-            String g = dto.getGreutate();
-            System.out.println("g: " + g);
-            setText(r, c++, g, dataStyle);
+        // 1) Nr. crt.
+        setNumber(r, c++, idx, dataStyle);
 
-            // 13) Felul mărfurilor
-            String fel = dto.getDescriereaMarfurilor() != null ? dto.getDescriereaMarfurilor() : "";
-            setText(r, c++, safe(fel), dataStyle);
+        // 2) Data (from your DTO – adjust getter name to your model)
+        setText(r, c++, safe(dto.getDataDeclaratie()), dataStyle);
 
-            // 14) Mențiuni speciale (under IEȘIRE EFECTIVĂ)
-            setText(r, c++, "", dataStyle);
+        // 3..6) Documente însoțitoare
+        setText(r, c++, "SAD", dataStyle);                         // Felul (or leave empty if you prefer)
+        setText(r, c++, safe(dto.getNrMrn()), dataStyle);          // Numărul (MRN)
+        setText(r, c++, safe(dto.getDataDeclaratie()), dataStyle); // Data document
+        setText(r, c++, "", dataStyle);                            // De unde provine
 
-            // 15) IEȘIRE EFECTIVĂ – Data
-            setText(r, c++, safe(dto.getDataDeclaratie()), dataStyle);
+        // 7) Transport identificare
+        setText(r, c++, safe(dto.getIdentificare()), dataStyle);
 
-            nextRow++;
-        }
+        // 8) Exportator / Expeditor
+        setText(r, c++, safe(dto.getNumeExportator()), dataStyle);
 
-        // sizing & freeze
-        applyColumnSizing(sheet);       // merged-aware autosize + min widths
-        sheet.createFreezePane(0, 4);
+        // 9..11) Colete
+        setText(r, c++, "", dataStyle);                            // Felul coletelor
+        String buc = safe(dto.getBuc());
+        if (isNumeric(buc)) setNumber(r, c++, Double.parseDouble(buc.replace(",", ".")), dataStyle);
+        else setText(r, c++, buc, dataStyle);                      // Buc.
+        setText(r, c++, "", dataStyle);                            // Mărci și numere
 
-        // safe write: temp then atomic replace
-        Path tmp = tempSibling(path, ".tmp");
-        try (OutputStream os = Files.newOutputStream(tmp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
-            wb.write(os);
-        } finally {
-            try { wb.close(); } catch (Exception ignore) {}
-        }
-        try { Files.move(tmp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING); }
-        catch (AtomicMoveNotSupportedException e) { Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING); }
+        // 12) Greutate
+        String g = dto.getGreutate();
+        setText(r, c++, g, dataStyle);
+
+        // 13) Felul mărfurilor
+        String fel = dto.getDescriereaMarfurilor() != null ? dto.getDescriereaMarfurilor() : "";
+        setText(r, c++, safe(fel), dataStyle);
+
+        // 14) Mențiuni speciale (under IEȘIRE EFECTIVĂ)
+        setText(r, c++, "", dataStyle);
 
-        return rows.size();
+        // 15) IEȘIRE EFECTIVĂ – Data
+        setText(r, c++, safe(dto.getDataDeclaratie()), dataStyle);
     }
 
 
@@ -303,7 +386,15 @@ public final class ExcelWriter {
             12   // 14 Data (IEȘIRE EFECTIVĂ)
     };
 
-    private static void applyColumnSizing(Sheet sheet) {
+    // package-private for the column-sizing benchmark (src/bench)
+    static void applyColumnSizing(Sheet sheet) {
+        // batch runs (-Dregistru.autosize=false): POI's autosize measures text with AWT font
+        // metrics, so they get each column's maximum width instead
+        if ("false".equalsIgnoreCase(System.getProperty("registru.autosize"))) {
+            for (int i = 0; i < MAX_CHARS.length; i++) sheet.setColumnWidth(i, MAX_CHARS[i] * 256);
+            return;
+        }
+
         // 1) autosize (merged-aware when XSSF)
         try {
             org.apache.poi.xssf.usermodel.XSSFSheet xs = (org.apache.poi.xssf.usermodel.XSSFSheet) sheet;
@@ -472,6 +563,9 @@ public final class ExcelWriter {
                 ? new String[]{"Noteworthy","Marker Felt","Chalkboard SE"}
                 : new String[]{"Segoe Script","Lucida Handwriting","Brush Script MT","Comic Sans MS"};
 
+        // headless batch runs must not bring up AWT; Excel resolves the name on the viewing machine anyway
+        if (Boolean.getBoolean("java.awt.headless")) return prefs[0];
+
         try {
             String[] installed = java.awt.GraphicsEnvironment.getLocalGraphicsEnvironment()
                     .getAvailableFontFamilyNames();
@@ -0,0 +1,90 @@
+// src/main/java/org/app/service/ExtractionCache.java
+package org.app.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.app.model.RegistruEvidentaDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Persistent extraction results keyed by PDF content hash + extractor version.
+ * An unchanged PDF is never parsed twice by the same extractor build, no matter
+ * where it lives or how often the folder is re-run.
+ * Layout: {@code <dir>/<first 2 hex chars>/<sha256>-<version>.json}.
+ */
+public class ExtractionCache {
+
+    private final Path dir;
+    private final ObjectMapper mapper;
+
+    public ExtractionCache(Path dir) throws IOException {
+        this.dir = Files.createDirectories(dir);
+        this.mapper = new ObjectMapper()
+                // entries written by older builds may carry fields we no longer know
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    /** The per-user cache under {@code ~/.registru-evidenta-export/cache}. */
+    public static ExtractionCache openDefault() throws IOException {
+        return new ExtractionCache(Path.of(System.getProperty("user.home"), ".registru-evidenta-export", "cache"));
+    }
+
+    public String key(Path pdf, String extractorVersion) throws IOException {
+        return sha256(pdf) + "-" + extractorVersion;
+    }
+
+    /** Returns the cached row, or null on a miss (unreadable entries count as misses). */
+    public RegistruEvidentaDto get(String key) {
+        Path entry = entry(key);
+        if (!Files.isRegularFile(entry)) return null;
+        try {
+            return mapper.readValue(entry.toFile(), RegistruEvidentaDto.class);
+        } catch (IOException e) {
+            try { Files.deleteIfExists(entry); } catch (IOException ignore) {}
+            return null;
+        }
+    }
+
+    public void put(String key, RegistruEvidentaDto row) throws IOException {
+        Path entry = entry(key);
+        Files.createDirectories(entry.getParent());
+
+        // safe write: temp then atomic replace (concurrent workers may race on the same key)
+        Path tmp = Files.createTempFile(entry.getParent(), key, ".tmp");
+        try {
+            mapper.writeValue(tmp.toFile(), row);
+            try { Files.move(tmp, entry, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING); }
+            catch (AtomicMoveNotSupportedException e) { Files.move(tmp, entry, StandardCopyOption.REPLACE_EXISTING); }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private Path entry(String key) {
+        return dir.resolve(key.substring(0, 2)).resolve(key + ".json");
+    }
+
+    static String sha256(Path file) throws IOException {
+        MessageDigest md;
+        try {
+            md = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] buf = new byte[64 * 1024];
+            int r;
+            while ((r = in.read(buf)) != -1) md.update(buf, 0, r);
+        }
+        return HexFormat.of().formatHex(md.digest());
+    }
+}
@@ -0,0 +1,59 @@
+// src/main/java/org/app/service/ExtractionEngine.java
+package org.app.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Something that turns one PDF into one {@link ExtractorResult}, concurrently.
+ * {@link ExtractorPool} drives the bundled Python extractor; {@link PdfBoxEngine}
+ * does the same work inside the JVM.
+ */
+public interface ExtractionEngine extends AutoCloseable {
+
+    /** What {@link #open} accepts (case-insensitive). */
+    List<String> KINDS = List.of("python", "pdfbox");
+
+    /**
+     * Queues one PDF. {@code cancel(true)} also aborts it if the engine can stop a running parse.
+     * {@code listener} hears when the parse actually starts and when it is done.
+     */
+    Future<ExtractorResult> submit(Path pdf, ExtractionListener listener);
+
+    default Future<ExtractorResult> submit(Path pdf) {
+        return submit(pdf, ExtractionListener.NONE);
+    }
+
+    /** How many PDFs are parsed at the same time. */
+    int size();
+
+    /**
+     * Per-PDF deadline; a PDF over it comes back as {@link ExtractorResult.Status#TIMED_OUT}.
+     * Engines that cannot abort a running parse ignore it (the run deadline still applies).
+     */
+    default void setFileTimeout(Duration timeout) {}
+
+    /** True once {@link #close()} ran: queued PDFs may never complete and nothing new can be submitted. */
+    boolean isClosed();
+
+    @Override
+    void close();
+
+    /**
+     * "python" (default) or "pdfbox"; the UI reads it from {@code -Dregistru.engine}.
+     */
+    static ExtractionEngine open(String kind, int parallelism, Consumer<String> logger,
+                                 ExtractionCache cache) throws IOException {
+        String k = kind == null ? "python" : kind.toLowerCase(Locale.ROOT);
+        return switch (k) {
+            case "python" -> new ExtractorPool(parallelism, logger, cache);
+            case "pdfbox" -> new PdfBoxEngine(parallelism, logger, cache);
+            default -> throw new IllegalArgumentException("Unknown extraction engine: " + kind);
+        };
+    }
+}
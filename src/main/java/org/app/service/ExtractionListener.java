@@ -0,0 +1,23 @@
+// src/main/java/org/app/service/ExtractionListener.java
+package org.app.service;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Progress events of one run. {@code fileStarted}/{@code fileDone} are called on
+ * the engine's threads as PDFs start and finish (not in file order), so
+ * implementations must be thread-safe and quick.
+ */
+public interface ExtractionListener {
+
+    ExtractionListener NONE = new ExtractionListener() {};
+
+    /** {@code total} PDFs are about to be extracted. */
+    default void runStarted(int total) {}
+
+    default void fileStarted(Path pdf) {}
+
+    /** {@code elapsed} covers the cache lookup and the parse itself, not the time spent queued. */
+    default void fileDone(ExtractorResult result, Duration elapsed) {}
+}
@@ -0,0 +1,73 @@
+// src/main/java/org/app/service/ExtractionProgress.java
+package org.app.service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Turns {@link ExtractionListener} events into done/total, files per second
+ * and an ETA, and hands a fresh {@link Snapshot} to {@code sink} after every PDF.
+ */
+public class ExtractionProgress implements ExtractionListener {
+
+    /** {@code eta} is null until the first PDF is done. */
+    public record Snapshot(int done, int total, int failed, double filesPerSecond, Duration eta) {
+
+        public double fraction() {
+            return total == 0 ? 1.0 : (double) done / total;
+        }
+
+        /** e.g. "120 / 5000 PDFs · 4.2 files/s · ETA 19m 22s" */
+        public String describe() {
+            StringBuilder sb = new StringBuilder()
+                    .append(done).append(" / ").append(total).append(" PDFs");
+            if (failed > 0) sb.append(" (").append(failed).append(" failed)");
+            if (done > 0) sb.append(String.format(" · %.1f files/s", filesPerSecond));
+            if (eta != null && done < total) sb.append(" · ETA ").append(format(eta));
+            return sb.toString();
+        }
+
+        private static String format(Duration d) {
+            long s = d.toSeconds();
+            if (s >= 3600) return String.format("%dh %02dm", s / 3600, (s % 3600) / 60);
+            if (s >= 60) return String.format("%dm %02ds", s / 60, s % 60);
+            return s + "s";
+        }
+    }
+
+    private final Consumer<Snapshot> sink;
+    private final AtomicInteger done = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private volatile int total;
+    private volatile long startNanos = System.nanoTime();
+
+    public ExtractionProgress(Consumer<Snapshot> sink) {
+        this.sink = sink;
+    }
+
+    @Override
+    public void runStarted(int total) {
+        this.total = total;
+        this.startNanos = System.nanoTime();
+        done.set(0);
+        failed.set(0);
+        sink.accept(snapshot());
+    }
+
+    @Override
+    public void fileDone(ExtractorResult result, Duration elapsed) {
+        if (result.failed()) failed.incrementAndGet();
+        done.incrementAndGet();
+        sink.accept(snapshot());
+    }
+
+    public Snapshot snapshot() {
+        int d = done.get();
+        int t = total;
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        double rate = d == 0 || seconds <= 0 ? 0 : d / seconds;
+        Duration eta = rate == 0 ? null : Duration.ofMillis((long) (Math.max(0, t - d) / rate * 1000));
+        return new Snapshot(d, t, failed.get(), rate, eta);
+    }
+}
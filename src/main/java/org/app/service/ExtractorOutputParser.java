@@ -0,0 +1,125 @@
+// src/main/java/org/app/service/ExtractorOutputParser.java
+package org.app.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.app.helper.PipelineEvents;
+import org.app.model.RegistruEvidentaDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Reads the extractor's NDJSON output token by token, straight from the pipe.
+ * No intermediate String, tree or data-binding pass: each record is mapped
+ * onto a {@link RegistruEvidentaDto} as its fields stream in.
+ */
+public class ExtractorOutputParser implements AutoCloseable {
+
+    /** Keys expected from the Python extractor (adjust only if you change the extractor). */
+    public static final List<String> EXPECTED_KEYS = List.of(
+            "dataDeclaratie",
+            "nrMrn",
+            "identificare",
+            "numeExportator",
+            "buc",
+            "greutate",
+            "descriereaMarfurilor",
+            "file"
+    );
+
+    /** Side-channel key with per-phase timings (only sent when the extractor runs with EXTRACT_TIMINGS=1). */
+    static final String TIMINGS_KEY = "_timings";
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private final JsonParser parser;
+
+    public ExtractorOutputParser(InputStream in) throws IOException {
+        // a Reader skips Jackson's encoding sniffing, which would block on an idle pipe
+        this.parser = FACTORY.createParser(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    /** Blocks until the next record is complete; returns null at end of stream. */
+    public ExtractorResult next() throws IOException {
+        JsonToken t = parser.nextToken();
+        if (t == null) return null;
+        if (t != JsonToken.START_OBJECT) {
+            throw new IOException("Unexpected extractor output: expected a JSON object, got " + t);
+        }
+
+        // starts at the first token: the wait for the worker is in StdoutDrain, not here
+        PipelineEvents.RecordParse ev = new PipelineEvents.RecordParse();
+        ev.begin();
+        RegistruEvidentaDto row = new RegistruEvidentaDto();
+        Set<String> keys = new HashSet<>();
+        String file = null;
+        String error = null;
+        Map<String, Double> timings = Map.of();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String key = parser.currentName();
+            JsonToken v = parser.nextToken();
+            if (key.equals(TIMINGS_KEY) && v == JsonToken.START_OBJECT) {
+                timings = readTimings();
+                continue;
+            }
+            keys.add(key);
+            if (v == JsonToken.START_OBJECT || v == JsonToken.START_ARRAY) {
+                // tolerate extra structured fields from newer extractors
+                parser.skipChildren();
+                continue;
+            }
+            String value = v == JsonToken.VALUE_NULL ? null : parser.getValueAsString();
+            switch (key) {
+                case "dataDeclaratie" -> row.setDataDeclaratie(value);
+                case "nrMrn" -> row.setNrMrn(value);
+                case "identificare" -> row.setIdentificare(value);
+                case "numeExportator" -> row.setNumeExportator(value);
+                case "buc" -> row.setBuc(value);
+                case "greutate" -> row.setGreutate(value);
+                case "descriereaMarfurilor" -> row.setDescriereaMarfurilor(value);
+                case "file" -> file = value;
+                case "error" -> error = value;
+                default -> { /* tolerate extra fields */ }
+            }
+        }
+        ev.file = file;
+        ev.fields = keys.size();
+        ev.commit();
+        return new ExtractorResult(null, file,
+                error == null ? ExtractorResult.Status.OK : ExtractorResult.Status.FAILED, error, row, keys, timings);
+    }
+
+    /** {"phase": ms, ...}; anything that is not a number is skipped. */
+    private Map<String, Double> readTimings() throws IOException {
+        Map<String, Double> out = new LinkedHashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken v = parser.nextToken();
+            if (v.isNumeric()) out.put(name, parser.getDoubleValue());
+            else parser.skipChildren();
+        }
+        return out;
+    }
+
+    /** Pushes every record to {@code sink} as soon as it has been read. */
+    public void forEach(Consumer<ExtractorResult> sink) throws IOException {
+        ExtractorResult r;
+        while ((r = next()) != null) sink.accept(r);
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
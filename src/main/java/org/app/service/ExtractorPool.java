@@ -0,0 +1,336 @@
+// src/main/java/org/app/service/ExtractorPool.java
+package org.app.service;
+
+import org.app.helper.NativeExtractor;
+import org.app.helper.PipelineEvents;
+import org.app.model.RegistruEvidentaDto;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Pool of long-lived extractor processes started in "--worker" mode.
+ * Each worker takes one PDF path per line on stdin and answers with one NDJSON record,
+ * so the PyInstaller unpack and the pdfplumber imports are paid once per worker, not per run.
+ */
+public class ExtractorPool implements ExtractionEngine {
+
+    /** One worker per core, capped: every worker is a full Python interpreter. */
+    public static final int DEFAULT_SIZE = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), 8));
+
+    /** Generous for a declaration; only pathological PDFs get near it. */
+    public static final Duration DEFAULT_FILE_TIMEOUT = Duration.ofMinutes(2);
+
+    private final Path extractor;
+    private final Consumer<String> logger;
+    private final ExtractionCache cache;        // null = always extract
+    private final String extractorVersion;
+    private final List<Worker> workers = new ArrayList<>();
+    private final BlockingQueue<Worker> idle = new LinkedBlockingQueue<>();
+    private final ExecutorService dispatch;
+    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "extractor-watchdog");
+        t.setDaemon(true);
+        return t;
+    });
+    private volatile Duration fileTimeout = DEFAULT_FILE_TIMEOUT;
+    private volatile boolean closed;
+
+    public ExtractorPool(int size, Consumer<String> logger) throws IOException {
+        this(size, logger, null);
+    }
+
+    /** With a cache, PDFs whose content was already extracted by this extractor build never reach a worker. */
+    public ExtractorPool(int size, Consumer<String> logger, ExtractionCache cache) throws IOException {
+        if (size < 1) throw new IllegalArgumentException("Pool size must be >= 1: " + size);
+        this.logger = logger;
+        this.cache = cache;
+        this.extractor = NativeExtractor.unpackExtractor();
+        // the binary's own hash: a rebuilt extractor invalidates every cached entry
+        this.extractorVersion = cache == null ? null : ExtractionCache.sha256(extractor).substring(0, 16);
+        // requests mostly wait (for an idle worker, then on its pipe): virtual threads on Java 21+
+        this.dispatch = Threads.perTask("extractor-dispatch", size);
+        try {
+            for (int i = 0; i < size; i++) {
+                Worker w = new Worker(i);
+                workers.add(w);
+                idle.add(w);
+            }
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+        // don't leave Python processes behind when the JVM goes away
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "extractor-pool-shutdown"));
+    }
+
+    @Override
+    public int size() {
+        return workers.size();
+    }
+
+    /**
+     * Queues one PDF for whichever worker is idle next. {@code cancel(true)} on the
+     * returned future kills the worker serving it (the whole process tree) and
+     * starts a fresh one; {@code cancel(false)} only drops it if not started yet.
+     */
+    @Override
+    public Future<ExtractorResult> submit(Path pdf, ExtractionListener listener) {
+        if (closed) throw new IllegalStateException("Extractor pool is closed.");
+        Request req = new Request(pdf, listener);
+        FutureTask<ExtractorResult> task = new FutureTask<>(req) {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                boolean cancelled = super.cancel(false);
+                if (mayInterruptIfRunning) req.abort();
+                return cancelled;
+            }
+        };
+        dispatch.execute(task);
+        return task;
+    }
+
+    /** A PDF that takes longer than this is reported as timed out and its worker is killed. */
+    @Override
+    public void setFileTimeout(Duration timeout) {
+        this.fileTimeout = timeout;
+    }
+
+    /** One queued PDF; knows which worker serves it so it can be aborted. */
+    private final class Request implements Callable<ExtractorResult> {
+        private final Path pdf;
+        private final ExtractionListener listener;
+        private volatile Worker servedBy;
+        private volatile boolean aborted;
+
+        Request(Path pdf, ExtractionListener listener) {
+            this.pdf = pdf;
+            this.listener = listener;
+        }
+
+        void abort() {
+            aborted = true;
+            Worker w = servedBy;
+            if (w != null) w.kill();
+        }
+
+        @Override
+        public ExtractorResult call() throws Exception {
+            listener.fileStarted(pdf);
+            long t0 = System.nanoTime();
+            ExtractorResult r = null;
+            try {
+                r = extract();
+                return r;
+            } finally {
+                // every started PDF is reported done: progress reaches the total and the consumer wakes up
+                if (r == null) r = ExtractorResult.failure(pdf, aborted ? "cancelled" : "extraction did not complete");
+                listener.fileDone(r, Duration.ofNanos(System.nanoTime() - t0));
+            }
+        }
+
+        private ExtractorResult extract() throws Exception {
+            String key = null;
+            if (cache != null) {
+                key = cache.key(pdf, extractorVersion);
+                RegistruEvidentaDto hit = cache.get(key);
+                if (hit != null) return ExtractorResult.complete(pdf, hit);
+            }
+
+            Duration limit = fileTimeout;
+            AtomicBoolean expired = new AtomicBoolean();
+            Worker w = takeIdle();
+            servedBy = w;
+            if (aborted) w.kill();
+            Worker serving = w;
+            ScheduledFuture<?> dog = limit == null ? null : watchdog.schedule(() -> {
+                expired.set(true);
+                serving.kill();
+            }, limit.toMillis(), TimeUnit.MILLISECONDS);
+            try {
+                ExtractorResult r = w.extract(pdf).withPdf(pdf);
+                if (dog != null && !dog.cancel(false)) {
+                    // the watchdog fired just as the answer arrived: the process is (being) killed
+                    w = replace(w);
+                }
+                // only complete records: a hit is served as complete(), with every expected key
+                if (key != null && !r.failed() && r.keys().containsAll(ExtractorOutputParser.EXPECTED_KEYS)) {
+                    try {
+                        cache.put(key, r.row());
+                    } catch (IOException e) {
+                        logger.accept("⚠️ Could not cache " + pdf.getFileName() + ": " + e.getMessage());
+                    }
+                }
+                return r;
+            } catch (IOException e) {
+                // the process is gone or its pipes are broken: replace it before handing it back
+                if (dog != null) dog.cancel(false);
+                w = replace(w);
+                if (aborted) throw new CancellationException("Extraction of " + pdf.getFileName() + " was cancelled.");
+                if (expired.get()) return ExtractorResult.timedOut(pdf, limit);
+                // crashed, OOM-killed or broken pipe: this PDF goes to the retry list, the run goes on
+                return ExtractorResult.failure(pdf, e.getMessage());
+            } finally {
+                servedBy = null;
+                if (w != null) idle.put(w);
+            }
+        }
+    }
+
+    /** Waits for an idle worker; fails instead of waiting forever once none are left. */
+    private Worker takeIdle() throws IOException, InterruptedException {
+        while (true) {
+            Worker w = idle.poll(1, TimeUnit.SECONDS);
+            if (w != null) return w;
+            synchronized (this) {
+                if (workers.isEmpty()) throw new IOException("No extractor workers left: none could be restarted.");
+            }
+        }
+    }
+
+    /**
+     * Restarts a dead worker. If the new process cannot be started the pool shrinks by
+     * one (null is returned) rather than handing the dead worker out again.
+     */
+    private Worker replace(Worker w) {
+        try {
+            return w.restart();
+        } catch (IOException e) {
+            int left;
+            synchronized (this) {
+                workers.remove(w);
+                left = workers.size();
+            }
+            logger.accept("❌ Could not restart extractor worker " + w.id + ": " + e.getMessage()
+                    + " (" + left + " worker(s) left)");
+            return null;
+        }
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) return;
+        closed = true;
+        dispatch.shutdownNow();
+        watchdog.shutdownNow();
+        for (Worker w : workers) w.stop();
+    }
+
+    // ------------------------------- worker -------------------------------
+
+    private final class Worker {
+        private final int id;
+        private final Process proc;
+        private final BufferedWriter stdin;
+        private final ExtractorOutputParser stdout;
+
+        Worker(int id) throws IOException {
+            this.id = id;
+
+            ProcessBuilder pb = new ProcessBuilder(extractor.toAbsolutePath().toString(), "--worker");
+
+            // Keep stderr separate so warnings don't corrupt the JSON lines
+            pb.redirectErrorStream(false);
+
+            // Make Python output UTF-8 and stay quiet
+            pb.environment().put("PYTHONIOENCODING", "utf-8");
+            pb.environment().put("PYTHONWARNINGS", "ignore");
+            // per-phase/field timings ride along in each record ("_timings")
+            pb.environment().put("EXTRACT_TIMINGS", "1");
+
+            PipelineEvents.ProcessSpawn spawn = new PipelineEvents.ProcessSpawn();
+            spawn.begin();
+            this.proc = pb.start();
+            spawn.worker = id;
+            spawn.pid = proc.pid();
+            spawn.commit();
+            this.stdin = new BufferedWriter(new OutputStreamWriter(proc.getOutputStream(), StandardCharsets.UTF_8));
+            this.stdout = new ExtractorOutputParser(proc.getInputStream());
+
+            Threads.start("extractor-stderr-" + id, this::drainStderr);
+        }
+
+        ExtractorResult extract(Path pdf) throws IOException {
+            PipelineEvents.StdoutDrain drain = new PipelineEvents.StdoutDrain();
+            drain.begin();
+            stdin.write(pdf.toAbsolutePath().toString());
+            stdin.newLine();
+            stdin.flush();
+
+            ExtractorResult line = stdout.next();
+            drain.worker = id;
+            drain.file = pdf.getFileName().toString();
+            drain.commit();
+            if (line == null) {
+                throw new IOException("Extractor worker " + id + " exited"
+                        + (proc.isAlive() ? "" : " with code " + proc.exitValue())
+                        + " while processing " + pdf.getFileName());
+            }
+            return line;
+        }
+
+        Worker restart() throws IOException {
+            stop();
+            Worker fresh = new Worker(id);
+            synchronized (ExtractorPool.this) {
+                workers.set(workers.indexOf(this), fresh);
+            }
+            return fresh;
+        }
+
+        void stop() {
+            try { stdin.close(); } catch (IOException ignore) {}
+            try {
+                if (!proc.waitFor(2, TimeUnit.SECONDS)) kill();
+            } catch (InterruptedException e) {
+                kill();
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /** Kills the process tree; a pending read on its stdout then ends with EOF. */
+        void kill() {
+            // PyInstaller --onefile runs Python as a child of the bootloader
+            proc.descendants().forEach(ProcessHandle::destroyForcibly);
+            proc.destroyForcibly();
+        }
+
+        private void drainStderr() {
+            try (BufferedReader err = new BufferedReader(
+                    new InputStreamReader(proc.getErrorStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = err.readLine()) != null) {
+                    if (!line.isBlank()) logger.accept(line);
+                }
+            } catch (IOException e) {
+                // swallow; a dead worker surfaces through the stdout protocol
+            }
+        }
+    }
+}
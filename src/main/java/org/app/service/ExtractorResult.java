@@ -0,0 +1,72 @@
+// src/main/java/org/app/service/ExtractorResult.java
+package org.app.service;
+
+import org.app.model.RegistruEvidentaDto;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One NDJSON record from the extractor: the mapped row plus the bookkeeping
+ * fields ("file", "error") and the set of keys that were actually present.
+ * {@code pdf} is the requested path; it is filled in by the pool, not the extractor.
+ * {@code error} is the failure reason, or for a WARNING the fields that came back empty.
+ * {@code timings} is the extractor's "_timings" (phase/field → ms), empty unless it was asked for them.
+ */
+public record ExtractorResult(Path pdf, String file, Status status, String error,
+                              RegistruEvidentaDto row, Set<String> keys, Map<String, Double> timings) {
+
+    /** OK and WARNING rows go to the register; FAILED and TIMED_OUT go to the retry list. */
+    public enum Status { OK, WARNING, FAILED, TIMED_OUT }
+
+    public ExtractorResult(Path pdf, String file, Status status, String error,
+                           RegistruEvidentaDto row, Set<String> keys) {
+        this(pdf, file, status, error, row, keys, Map.of());
+    }
+
+    /**
+     * A record with every expected key, e.g. built in-JVM or served from {@link ExtractionCache}
+     * (which only ever stores records that had all of them).
+     */
+    public static ExtractorResult complete(Path pdf, RegistruEvidentaDto row) {
+        return new ExtractorResult(pdf, pdf.getFileName().toString(), Status.OK, null, row,
+                Set.copyOf(ExtractorOutputParser.EXPECTED_KEYS));
+    }
+
+    /** Same shape as the Python worker's {"file": ..., "error": ...}. */
+    public static ExtractorResult failure(Path pdf, String error) {
+        return new ExtractorResult(pdf, pdf.getFileName().toString(), Status.FAILED, error,
+                new RegistruEvidentaDto(), Set.of("file", "error"));
+    }
+
+    /** The PDF was abandoned (and its extractor killed) after {@code limit}. */
+    public static ExtractorResult timedOut(Path pdf, Duration limit) {
+        return timedOut(pdf, "exceeded the per-file deadline of " + limit.toSeconds() + "s");
+    }
+
+    /** The PDF was not (fully) extracted in time, e.g. still queued when the run deadline passed. */
+    public static ExtractorResult timedOut(Path pdf, String reason) {
+        return new ExtractorResult(pdf, pdf.getFileName().toString(), Status.TIMED_OUT, reason,
+                new RegistruEvidentaDto(), Set.of());
+    }
+
+    public ExtractorResult withPdf(Path pdf) {
+        return new ExtractorResult(pdf, file, status, error, row, keys, timings);
+    }
+
+    /** Extracted, but some register fields are empty ({@code reason} lists them). */
+    public ExtractorResult asWarning(String reason) {
+        return new ExtractorResult(pdf, file, Status.WARNING, reason, row, keys, timings);
+    }
+
+    public boolean failed() {
+        return status == Status.FAILED || status == Status.TIMED_OUT;
+    }
+
+    /** Goes into the register (possibly with empty cells). */
+    public boolean usable() {
+        return !failed();
+    }
+}
@@ -0,0 +1,221 @@
+// src/main/java/org/app/service/HotFolderWatcher.java
+package org.app.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * Watches folders for new PDFs and appends them to the register in micro-batches.
+ * A PDF is picked up once its size/mtime stopped changing for {@link #SETTLE_MS}
+ * and it ends with the %%EOF trailer; a batch is flushed when it reaches
+ * {@link #MAX_BATCH} files or its oldest file waited {@link #MAX_DELAY_MS}.
+ */
+public class HotFolderWatcher implements AutoCloseable {
+
+    public static final long SETTLE_MS = 2_000;
+    public static final long MAX_DELAY_MS = 10_000;
+    public static final int MAX_BATCH = 50;
+    private static final long POLL_MS = 500;
+
+    private final List<Path> folders;
+    private final File xlsx;
+    private final PdfFolderService svc;
+    private final Consumer<String> logger;
+    private final WatchService watch;
+    private final ProcessedManifest manifest;
+    private final Thread loop;
+
+    // only touched from the watcher thread
+    private final Map<WatchKey, Path> keys = new HashMap<>();
+    private final Map<Path, Pending> pending = new HashMap<>();
+    private final Set<Path> ready = new LinkedHashSet<>();
+    private long oldestReadyAt;
+    private int nextIndex;
+
+    private volatile boolean running;
+
+    private record Pending(long size, long mtime, long lastChange) {}
+
+    public HotFolderWatcher(List<Path> folders, File xlsx, int startIndex,
+                            PdfFolderService svc, Consumer<String> logger) throws IOException {
+        this.folders = List.copyOf(folders);
+        this.xlsx = xlsx;
+        this.nextIndex = startIndex;
+        this.svc = svc;
+        this.logger = logger;
+        this.manifest = ProcessedManifest.load(xlsx);
+        this.watch = FileSystems.getDefault().newWatchService();
+        this.loop = new Thread(this::run, "hot-folder-watcher");
+        this.loop.setDaemon(true);
+    }
+
+    public void start() throws IOException {
+        for (Path f : folders) registerTree(f);
+        running = true;
+        loop.start();
+        logger.accept("👀 Watching " + folders.size() + " folder(s) for new PDFs…");
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try { watch.close(); } catch (IOException ignore) {}
+        try { loop.join(TimeUnit.SECONDS.toMillis(30)); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+    }
+
+    // ------------------------------- loop -------------------------------
+
+    private void run() {
+        // catch up with whatever arrived while nobody was watching
+        for (Path f : folders) scan(f);
+
+        while (running) {
+            try {
+                WatchKey key = watch.poll(POLL_MS, TimeUnit.MILLISECONDS);
+                if (key != null) handle(key);
+                settle();
+                if (ready.size() >= MAX_BATCH
+                        || (!ready.isEmpty() && System.currentTimeMillis() - oldestReadyAt >= MAX_DELAY_MS)) {
+                    flush();
+                }
+            } catch (ClosedWatchServiceException | InterruptedException e) {
+                break;
+            } catch (Exception e) {
+                logger.accept("❌ Watcher error: " + e.getMessage());
+            }
+        }
+
+        // don't lose files that were already complete when we were stopped
+        try {
+            settle();
+            if (!ready.isEmpty()) flush();
+        } catch (Exception e) {
+            logger.accept("❌ Final batch failed: " + e.getMessage());
+        }
+        logger.accept("Stopped watching.");
+    }
+
+    private void handle(WatchKey key) {
+        Path dir = keys.get(key);
+        for (WatchEvent<?> ev : key.pollEvents()) {
+            if (ev.kind() == OVERFLOW) {
+                if (dir != null) scan(dir);
+                continue;
+            }
+            if (dir == null) continue;
+            Path child = dir.resolve((Path) ev.context());
+            if (Files.isDirectory(child)) {
+                try { registerTree(child); } catch (IOException e) { logger.accept("⚠️ Cannot watch " + child + ": " + e.getMessage()); }
+                scan(child);
+            } else if (PdfFolderService.isPdf(child)) {
+                pending.putIfAbsent(child, new Pending(-1, -1, System.currentTimeMillis()));
+            }
+        }
+        if (!key.reset()) keys.remove(key);
+    }
+
+    /** Promotes PDFs whose size/mtime have been stable long enough and look complete. */
+    private void settle() {
+        long now = System.currentTimeMillis();
+        for (Iterator<Map.Entry<Path, Pending>> it = pending.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Path, Pending> e = it.next();
+            Path p = e.getKey();
+            Pending was = e.getValue();
+            long size, mtime;
+            try {
+                size = Files.size(p);
+                mtime = Files.getLastModifiedTime(p).toMillis();
+            } catch (IOException gone) {
+                it.remove();           // deleted or renamed away while being written
+                continue;
+            }
+            if (size != was.size() || mtime != was.mtime()) {
+                e.setValue(new Pending(size, mtime, now));
+            } else if (now - was.lastChange() >= SETTLE_MS && looksComplete(p)) {
+                it.remove();
+                if (ready.isEmpty()) oldestReadyAt = now;
+                ready.add(p);
+            }
+        }
+    }
+
+    private void flush() {
+        List<Path> batch = ready.stream()
+                .filter(manifest::isNewOrChanged)
+                .sorted(PdfFolderService.BY_NAME_ELEMENTS)
+                .collect(Collectors.toList());
+        ready.clear();
+        if (batch.isEmpty()) return;
+
+        try {
+            RegisterRun.Summary sum = RegisterRun.write(xlsx, svc.streamFiles(batch, svc.defaultBufferSize()),
+                    nextIndex, manifest, logger);
+            nextIndex += sum.appended();
+            logger.accept("✅ Appended " + sum.appended() + " row(s) to " + xlsx.getName() + " (next Nr. crt. " + nextIndex + ")");
+        } catch (Exception e) {
+            // not recorded in the manifest, so the next start picks these up again
+            logger.accept("❌ Batch of " + batch.size() + " PDF(s) failed: " + e.getMessage());
+        }
+    }
+
+    // ------------------------------- helpers -------------------------------
+
+    private void registerTree(Path root) throws IOException {
+        try (Stream<Path> s = Files.walk(root)) {
+            for (Path d : s.filter(Files::isDirectory).collect(Collectors.toList())) {
+                keys.put(d.register(watch, ENTRY_CREATE, ENTRY_MODIFY), d);
+            }
+        }
+    }
+
+    private void scan(Path dir) {
+        try {
+            long now = System.currentTimeMillis();
+            for (Path p : PdfFolderService.findPdfs(dir)) {
+                if (manifest.isNewOrChanged(p) && !ready.contains(p)) {
+                    pending.putIfAbsent(p, new Pending(-1, -1, now));
+                }
+            }
+        } catch (IOException e) {
+            logger.accept("⚠️ Cannot scan " + dir + ": " + e.getMessage());
+        }
+    }
+
+    /** Can be opened for reading (Windows refuses while the writer holds it) and ends with %%EOF. */
+    private static boolean looksComplete(Path pdf) {
+        try (FileChannel ch = FileChannel.open(pdf, StandardOpenOption.READ)) {
+            long size = ch.size();
+            int n = (int) Math.min(1024, size);
+            ByteBuffer tail = ByteBuffer.allocate(n);
+            ch.read(tail, size - n);
+            return new String(tail.array(), 0, tail.position(), StandardCharsets.ISO_8859_1).contains("%%EOF");
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+// src/main/java/org/app/service/PdfBoxEngine.java
+package org.app.service;
+
+import org.app.model.RegistruEvidentaDto;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * In-JVM extraction: PDFBox text positions + {@link EadFields}, one PDF per
+ * fork-join task. No process spawn, no pipes, no JSON round trip.
+ */
+public class PdfBoxEngine implements ExtractionEngine {
+
+    /** Bump whenever {@link EadFields} or {@link PdfWords} change what they return (invalidates the cache). */
+    static final String VERSION = "pdfbox-1";
+
+    private final ForkJoinPool pool;
+    private final Consumer<String> logger;
+    private final ExtractionCache cache;        // null = always extract
+
+    public PdfBoxEngine(int parallelism, Consumer<String> logger, ExtractionCache cache) {
+        if (parallelism < 1) throw new IllegalArgumentException("Parallelism must be >= 1: " + parallelism);
+        this.logger = logger;
+        this.cache = cache;
+        this.pool = new ForkJoinPool(parallelism, p -> {
+            var t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            t.setName("pdfbox-extract-" + t.getPoolIndex());
+            t.setDaemon(true);
+            return t;
+        }, null, false);
+    }
+
+    @Override
+    public Future<ExtractorResult> submit(Path pdf, ExtractionListener listener) {
+        return pool.submit(() -> {
+            listener.fileStarted(pdf);
+            long t0 = System.nanoTime();
+            ExtractorResult r = null;
+            try {
+                r = extractOne(pdf);
+                return r;
+            } finally {
+                if (r == null) r = ExtractorResult.failure(pdf, "extraction did not complete");
+                listener.fileDone(r, Duration.ofNanos(System.nanoTime() - t0));
+            }
+        });
+    }
+
+    @Override
+    public int size() {
+        return pool.getParallelism();
+    }
+
+    private ExtractorResult extractOne(Path pdf) throws IOException {
+        String key = null;
+        if (cache != null) {
+            key = cache.key(pdf, VERSION);
+            RegistruEvidentaDto hit = cache.get(key);
+            if (hit != null) return ExtractorResult.complete(pdf, hit);
+        }
+
+        String name = pdf.getFileName().toString();
+        RegistruEvidentaDto row;
+        try {
+            row = EadFields.extract(PdfWords.read(pdf), name);
+        } catch (Exception e) {
+            return ExtractorResult.failure(pdf, e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+
+        if (key != null) {
+            try {
+                cache.put(key, row);
+            } catch (IOException e) {
+                logger.accept("⚠️ Could not cache " + name + ": " + e.getMessage());
+            }
+        }
+        return ExtractorResult.complete(pdf, row);
+    }
+
+    @Override
+    public boolean isClosed() {
+        return pool.isShutdown();
+    }
+
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,83 @@
+// src/main/java/org/app/service/PdfCost.java
+package org.app.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * Cheap page-count estimate used to schedule long PDFs first. Reads only the
+ * head and tail of the file (linearization dict, page-tree root, trailer area),
+ * never parses it; falls back to the file size when the count sits in a
+ * compressed object stream.
+ */
+final class PdfCost {
+    private PdfCost() {}
+
+    private static final int PROBE = 16 * 1024;
+    private static final long BYTES_PER_PAGE = 40 * 1024;     // typical text-only declaration page
+
+    // linearized files: "/Linearized 1 ... /N 12"; page-tree root: "/Type /Pages ... /Count 12"
+    private static final Pattern LINEARIZED_N = Pattern.compile("/Linearized\\b[^>]*?/N\\s+(\\d+)");
+    private static final Pattern COUNT = Pattern.compile("/Count\\s+(\\d+)");
+
+    /** Estimated pages, at least 1. */
+    static int estimatePages(Path pdf) {
+        try (FileChannel ch = FileChannel.open(pdf, StandardOpenOption.READ)) {
+            long size = ch.size();
+            String head = read(ch, 0, (int) Math.min(PROBE, size));
+            Matcher lin = LINEARIZED_N.matcher(head);
+            if (lin.find()) return clamp(lin.group(1));
+
+            int best = maxCount(head);
+            if (size > PROBE) best = Math.max(best, maxCount(read(ch, Math.max(PROBE, size - PROBE), PROBE)));
+            if (best > 0) return best;
+
+            return (int) Math.max(1, Math.min(Integer.MAX_VALUE, size / BYTES_PER_PAGE));
+        } catch (IOException e) {
+            return 1;   // the extractor will report the real problem
+        }
+    }
+
+    /** {@code estimatePages} for every PDF, in parallel (I/O bound, one small read per end). */
+    static int[] estimatePages(List<Path> pdfs) {
+        int[] pages = new int[pdfs.size()];
+        IntStream.range(0, pages.length).parallel()
+                .forEach(i -> pages[i] = estimatePages(pdfs.get(i)));
+        return pages;
+    }
+
+    // ------------------------------- helpers -------------------------------
+
+    /** The page-tree root has the largest /Count (intermediate nodes count their subtree). */
+    private static int maxCount(String s) {
+        int best = 0;
+        Matcher m = COUNT.matcher(s);
+        while (m.find()) best = Math.max(best, clamp(m.group(1)));
+        return best;
+    }
+
+    private static int clamp(String digits) {
+        try {
+            return Math.max(1, Integer.parseInt(digits));
+        } catch (NumberFormatException e) {
+            return 1;
+        }
+    }
+
+    private static String read(FileChannel ch, long pos, int len) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(len);
+        while (buf.hasRemaining()) {
+            if (ch.read(buf, pos + buf.position()) < 0) break;
+        }
+        // ISO-8859-1 keeps one char per byte, so binary streams can't break the regexes
+        return new String(buf.array(), 0, buf.position(), StandardCharsets.ISO_8859_1);
+    }
+}
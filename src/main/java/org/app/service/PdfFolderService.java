@@ -1,158 +1,405 @@
 // src/main/java/org/app/service/PdfFolderService.java
 package org.app.service;
 
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import org.app.helper.NativeExtractor;
 import org.app.model.RegistruEvidentaDto;
 
-import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Spliterators;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class PdfFolderService {
 
-    private final ObjectMapper mapper;
     private final Consumer<String> logger;
+    private final ExtractionEngine engine;
+    private Duration runDeadline;               // null = no limit
+    private ExtractionListener progress = ExtractionListener.NONE;
 
-    public PdfFolderService(Consumer<String> logger) {
+    /** Uses a long-lived engine (e.g. the worker pool) owned by the caller and shared across runs. */
+    public PdfFolderService(Consumer<String> logger, ExtractionEngine engine) {
         this.logger = logger;
-        this.mapper = new ObjectMapper()
-                // tolerate extra fields like "file" or "error" from the extractor
-                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.engine = engine;
     }
 
-    /** Runs the extractor on a folder and returns parsed rows. */
+    /** Runs the extraction engine on a folder and returns the rows of every PDF that could be read. */
     public List<RegistruEvidentaDto> processFolder(File folder) throws Exception {
-        if (folder == null || !folder.isDirectory()) {
-            throw new IllegalArgumentException("Not a folder: " + (folder == null ? "null" : folder));
+        try (Stream<RegistruEvidentaDto> rows = streamFolder(folder)) {
+            return rows.collect(Collectors.toList());
         }
+    }
+
+    /**
+     * Like {@link #processFolder(File)} but only for PDFs accepted by {@code include}
+     * (e.g. {@link ProcessedManifest#isNewOrChanged}); keeps the source path of every row.
+     */
+    public List<ExtractorResult> processFolder(File folder, Predicate<Path> include) throws Exception {
+        try (Stream<ExtractorResult> results = streamResults(folder, include, defaultBufferSize())) {
+            return results.collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Streams the rows of a folder in file order while later PDFs are still being parsed.
+     * At most {@code bufferSize} PDFs are queued, being parsed or parsed and waiting for the consumer.
+     * Close the stream to drop the work that has not started yet. Failed PDFs are logged and left out.
+     */
+    public Stream<RegistruEvidentaDto> streamFolder(File folder, int bufferSize) throws IOException {
+        return streamResults(folder, p -> true, bufferSize).filter(ExtractorResult::usable).map(ExtractorResult::row);
+    }
+
+    public Stream<RegistruEvidentaDto> streamFolder(File folder) throws IOException {
+        return streamFolder(folder, defaultBufferSize());
+    }
 
-        // 1) Run the extractor (stderr kept separate!)
-        ExecResult r = runExtractor(folder);
+    /** Same as {@link #streamFolder(File, int)}, restricted to {@code include}d PDFs and with their paths. */
+    public Stream<ExtractorResult> streamResults(File folder, Predicate<Path> include, int bufferSize) throws IOException {
+        return streamResults(List.of(folder), include, bufferSize);
+    }
 
-        // 2) Log any warnings/errors from stderr (don’t break JSON parsing)
-        if (!r.stderr.isBlank()) {
-            for (String line : r.stderr.split("\\R")) {
-                if (!line.isBlank()) logger.accept(line);
+    /** Several folders through one window, so it stays full across folder boundaries. */
+    public Stream<ExtractorResult> streamResults(List<File> folders, Predicate<Path> include, int bufferSize) throws IOException {
+        // 1) Find the PDFs (same order as the extractor's sorted rglob), folder by folder
+        List<Path> all = new ArrayList<>();
+        for (File folder : folders) {
+            if (folder == null || !folder.isDirectory()) {
+                throw new IllegalArgumentException("Not a folder: " + (folder == null ? "null" : folder));
             }
+            all.addAll(findPdfs(folder.toPath()));
         }
-
-        if (r.exitCode != 0) {
-            // If Python returned a non-zero exit, prefer showing stderr; fallback to stdout
-            throw new RuntimeException("Extractor failed:\n" +
-                    (r.stderr.isBlank() ? r.stdout : r.stderr));
+        List<Path> pdfs = all.stream().filter(include).collect(Collectors.toList());
+        if (pdfs.size() < all.size()) {
+            logger.accept("⏭ Skipping " + (all.size() - pdfs.size()) + " PDF(s) already processed.");
         }
+        return streamFiles(pdfs, bufferSize);
+    }
 
-        // 3) Keep only the JSON payload (trim anything before '[' and after ']')
-        String json = r.stdout;
-        int s = json.indexOf('[');
-        int e = json.lastIndexOf(']');
-        if (s < 0 || e < 0 || e < s) {
-            throw new RuntimeException("Extractor output is not a JSON array:\n" + json);
-        }
-        json = json.substring(s, e + 1);
+    /** Default window: enough queued work to keep every engine thread busy. */
+    public int defaultBufferSize() {
+        return engine.size() * 4;
+    }
+
+    /** Extracts an explicit list of PDFs (e.g. from the hot-folder watcher), in list order. */
+    public Stream<ExtractorResult> streamFiles(List<Path> pdfs, int bufferSize) {
+        if (bufferSize < 1) throw new IllegalArgumentException("Buffer size must be >= 1: " + bufferSize);
 
-        // 4) Parse JSON
-        JsonNode root = mapper.readTree(json);
-        if (!(root instanceof ArrayNode)) {
-            throw new RuntimeException("Unexpected extractor output (not a JSON array).");
+        // 2) Fan out to the engine longest-first through a bounded window, results in input order
+        progress.runStarted(pdfs.size());
+        PhaseTimings timings = new PhaseTimings();
+        OrderedResults results = new OrderedResults(pdfs, bufferSize,
+                runDeadline == null ? Long.MAX_VALUE : System.nanoTime() + runDeadline.toNanos(), timings);
+
+        // 3) Classify every record (ok / warning / failed) instead of aborting the run
+        boolean[] first = {true};
+        return StreamSupport.stream(results, false)
+                .onClose(results::cancel)
+                .onClose(() -> logTimings(timings))
+                .map(r -> {
+                    timings.recordAll(r.timings());
+                    if (r.failed()) {
+                        logger.accept((r.status() == ExtractorResult.Status.TIMED_OUT ? "⏱ " : "❌ ")
+                                + r.file() + ": " + r.error());
+                        return r;
+                    }
+                    if (first[0]) {
+                        first[0] = false;
+                        validateStructure(r);
+                    }
+                    return classify(r);
+                });
+    }
+
+    /**
+     * Whole-run limit. Past it nothing new is submitted, running PDFs are aborted, and the
+     * stream ends with every unfinished PDF as a TIMED_OUT record (so it lands on the retry
+     * list while the finished rows are still written).
+     */
+    public PdfFolderService withRunDeadline(Duration deadline) {
+        this.runDeadline = deadline;
+        return this;
+    }
+
+    /** Receives run/file events, e.g. an {@link ExtractionProgress} feeding a progress bar. */
+    public PdfFolderService withProgress(ExtractionListener progress) {
+        this.progress = progress == null ? ExtractionListener.NONE : progress;
+        return this;
+    }
+
+    public List<ExtractorResult> processFiles(List<Path> pdfs) {
+        try (Stream<ExtractorResult> results = streamFiles(pdfs, defaultBufferSize())) {
+            return results.collect(Collectors.toList());
         }
-        ArrayNode arr = (ArrayNode) root;
+    }
+
+    // ------------------------------- helpers -------------------------------
 
-        // 5) Map to DTOs
-        List<RegistruEvidentaDto> rows = new ArrayList<>(arr.size());
-        for (JsonNode node : arr) {
-            RegistruEvidentaDto dto = mapper.treeToValue(node, RegistruEvidentaDto.class);
-            rows.add(dto);
+    static boolean isPdf(Path p) {
+        return p.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".pdf");
+    }
+
+    /**
+     * Path order of Python's {@code sorted(rglob(...))}: name element by name element,
+     * a parent before its children ("a/b.pdf" before "a-c.pdf"), unlike {@link Path#compareTo}
+     * on the whole string. Single-element paths still compare the platform's way.
+     */
+    static final Comparator<Path> BY_NAME_ELEMENTS = (a, b) -> {
+        int n = Math.min(a.getNameCount(), b.getNameCount());
+        for (int i = 0; i < n; i++) {
+            int c = a.getName(i).compareTo(b.getName(i));
+            if (c != 0) return c;
         }
+        return Integer.compare(a.getNameCount(), b.getNameCount());
+    };
 
-        // 6) Optional: sanity check keys exist (matches your extractor’s output)
-        validateStructure(arr);
+    /** Walks the top-level subfolders in parallel; the result is sorted like the extractor's rglob. */
+    static List<Path> findPdfs(Path root) throws IOException {
+        List<Path> top;
+        try (Stream<Path> s = Files.list(root)) {
+            top = s.collect(Collectors.toList());
+        }
+        try {
+            return top.parallelStream()
+                    .flatMap(p -> Files.isDirectory(p, LinkOption.NOFOLLOW_LINKS) ? walk(p) : Stream.of(p))
+                    .filter(Files::isRegularFile)
+                    .filter(PdfFolderService::isPdf)
+                    .sorted(BY_NAME_ELEMENTS)
+                    .collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
 
-        return rows;
+    private static Stream<Path> walk(Path dir) {
+        try (Stream<Path> s = Files.walk(dir)) {
+            return s.collect(Collectors.toList()).stream();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
-    // ------------------------------- helpers -------------------------------
+    /**
+     * Hands results out in input order while dispatching longest-first: among the next
+     * {@code horizon} PDFs, the ones with the most (estimated) pages are submitted first,
+     * with at most {@code window} of them submitted and not yet handed out (queued, running
+     * or finished ahead of the head). A long PDF near the end of the list therefore starts
+     * early instead of finishing last, and buffering never exceeds the window.
+     */
+    private final class OrderedResults extends Spliterators.AbstractSpliterator<ExtractorResult> {
+        private static final long REFILL_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
 
-    private ExecResult runExtractor(File folder) throws Exception {
-        Path extractor = NativeExtractor.unpackExtractor();
+        private final List<Path> pdfs;
+        private final int[] pages;
+        private final int window;
+        private final int horizon;
+        private final long deadlineNanos;
+        private final Map<Integer, Future<ExtractorResult>> submitted = new HashMap<>();
+        private final PriorityQueue<Integer> waiting;
+        private final Semaphore wake = new Semaphore(0);
+        private final ExtractionListener listener;
+        private int head;           // next index to hand out
+        private int seen;           // indices below this are submitted or waiting
+        private boolean expired;    // run deadline passed: only hand out what is left
 
-        ProcessBuilder pb = new ProcessBuilder(
-                extractor.toAbsolutePath().toString(),
-                folder.getAbsolutePath()
-        );
+        OrderedResults(List<Path> pdfs, int window, long deadlineNanos, PhaseTimings timings) {
+            super(pdfs.size(), ORDERED | SIZED | NONNULL);
+            this.pdfs = pdfs;
+            this.pages = new int[pdfs.size()];        // estimated as files enter the horizon
+            this.window = window;
+            this.horizon = window * 4;
+            this.deadlineNanos = deadlineNanos;
+            // most pages first; the earlier file on a tie
+            this.waiting = new PriorityQueue<>((a, b) -> pages[a] != pages[b] ? Integer.compare(pages[b], pages[a])
+                    : Integer.compare(a, b));
+            // wake the consumer whenever any PDF finishes, so it rechecks the head and the deadline
+            this.listener = new ExtractionListener() {
+                @Override public void fileStarted(Path pdf) { progress.fileStarted(pdf); }
+                @Override public void fileDone(ExtractorResult r, Duration elapsed) {
+                    timings.record(PhaseTimings.ENGINE, elapsed.toNanos() / 1e6);
+                    progress.fileDone(r, elapsed);
+                    wake.release();
+                }
+            };
+        }
 
-        // Keep stderr separate so warnings don't corrupt JSON
-        pb.redirectErrorStream(false);
+        @Override
+        public boolean tryAdvance(Consumer<? super ExtractorResult> action) {
+            if (head >= pdfs.size()) return false;
+            try {
+                if (!expired) awaitHead();
+                Future<ExtractorResult> f = submitted.remove(head);
+                Path pdf = pdfs.get(head++);
+                if (f != null && f.isDone() && !f.isCancelled()) {
+                    action.accept(result(f, pdf));
+                } else if (expired) {
+                    action.accept(ExtractorResult.timedOut(pdf, "run deadline of " + runDeadline.toSeconds()
+                            + "s passed before it was extracted"));
+                } else {
+                    // cancelled from outside the stream, e.g. by the engine shutting down
+                    action.accept(ExtractorResult.failure(pdf, "cancelled"));
+                }
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancel();
+                throw new CancellationException("Interrupted while waiting for the extractor.");
+            }
+        }
 
-        // Make Python output UTF-8 and stay quiet
-        pb.environment().put("PYTHONIOENCODING", "utf-8");
-        pb.environment().put("PYTHONWARNINGS", "ignore");
+        /** A PDF whose extraction threw is a failed record, not the end of the run; only cancellation propagates. */
+        private ExtractorResult result(Future<ExtractorResult> f, Path pdf) throws InterruptedException {
+            try {
+                return f.get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof CancellationException ce) {
+                    cancel();
+                    throw ce;
+                }
+                return ExtractorResult.failure(pdf, cause.getClass().getSimpleName() + ": " + cause.getMessage());
+            }
+        }
+
+        /**
+         * Keeps the engine fed until the head is done or the run deadline passes. Throws
+         * CancellationException once the engine is closed: a task it dropped never completes.
+         */
+        private void awaitHead() throws InterruptedException {
+            while (true) {
+                if (engine.isClosed()) {
+                    Future<ExtractorResult> f = submitted.get(head);
+                    if (f != null && f.isDone()) return;     // finished before the close: still handed out
+                    throw engineClosed();
+                }
+                try {
+                    fill();
+                } catch (RuntimeException e) {
+                    // closed between the check and a submit
+                    if (engine.isClosed()) throw engineClosed();
+                    throw e;
+                }
+                if (submitted.get(head).isDone()) return;
+                long wait = REFILL_NANOS;
+                if (deadlineNanos != Long.MAX_VALUE) {
+                    long left = deadlineNanos - System.nanoTime();
+                    if (left <= 0) {
+                        expire();
+                        return;
+                    }
+                    wait = Math.min(left, wait);
+                }
+                wake.tryAcquire(wait, TimeUnit.NANOSECONDS);
+            }
+        }
 
-        Process proc = pb.start();
+        private CancellationException engineClosed() {
+            cancel();
+            return new CancellationException("The extraction engine was closed.");
+        }
 
-        // Collect stdout (JSON) and stderr (warnings) concurrently
-        ByteArrayOutputStream outBuf = new ByteArrayOutputStream();
-        ByteArrayOutputStream errBuf = new ByteArrayOutputStream();
+        /** Deadline passed: submit nothing more, abort what is queued or running, keep what finished. */
+        private void expire() {
+            expired = true;
+            waiting.clear();
+            seen = pdfs.size();
+            int finished = 0;
+            for (Future<ExtractorResult> f : submitted.values()) {
+                if (!f.isDone()) f.cancel(true);
+                else if (!f.isCancelled()) finished++;
+            }
+            logger.accept("⏱ Run deadline of " + runDeadline.toSeconds() + "s passed: "
+                    + (pdfs.size() - head - finished) + " unfinished PDF(s) go to the retry list.");
+        }
 
-        Thread tOut = new Thread(() -> pipe(proc.getInputStream(), outBuf), "extractor-stdout");
-        Thread tErr = new Thread(() -> pipe(proc.getErrorStream(), errBuf), "extractor-stderr");
-        tOut.setDaemon(true);
-        tErr.setDaemon(true);
-        tOut.start();
-        tErr.start();
+        /** Tops up the engine with the heaviest waiting PDFs; the head always goes in. */
+        private void fill() {
+            wake.drainPermits();
+            int end = Math.min(pdfs.size(), head + horizon);
+            if (seen < end) {
+                // only the files about to be scheduled get their ends read
+                int[] est = PdfCost.estimatePages(pdfs.subList(seen, end));
+                System.arraycopy(est, 0, pages, seen, est.length);
+                while (seen < end) waiting.add(seen++);
+            }
 
-        int exit = proc.waitFor();
-        tOut.join();
-        tErr.join();
+            // finished results still count: they hold memory until the consumer takes them;
+            // one slot stays free for the head until it is in
+            while (!waiting.isEmpty()
+                    && submitted.size() < (submitted.containsKey(head) ? window : window - 1)) {
+                submit(waiting.poll());
+            }
+            if (!submitted.containsKey(head)) {
+                waiting.remove(head);
+                submit(head);
+            }
+        }
 
-        String stdout = outBuf.toString(StandardCharsets.UTF_8);
-        String stderr = errBuf.toString(StandardCharsets.UTF_8);
+        private void submit(int i) {
+            submitted.put(i, engine.submit(pdfs.get(i), listener));
+        }
 
-        return new ExecResult(stdout, stderr, exit);
+        void cancel() {
+            // queued requests are dropped; running ones are aborted (the pool kills their worker)
+            submitted.values().forEach(f -> f.cancel(true));
+            submitted.clear();
+            waiting.clear();
+            head = seen = pdfs.size();
+        }
     }
 
-    private static void pipe(InputStream in, ByteArrayOutputStream out) {
-        try (InputStream is = in) {
-            byte[] buf = new byte[8192];
-            int r;
-            while ((r = is.read(buf)) != -1) out.write(buf, 0, r);
-        } catch (Exception e) {
-            // swallow; we’ll surface problems via exit code / content later
-        }
+    /** A readable PDF with empty register fields is still written, but flagged. */
+    private ExtractorResult classify(ExtractorResult r) {
+        RegistruEvidentaDto d = r.row();
+        List<String> missing = new ArrayList<>();
+        if (isBlank(d.getDataDeclaratie())) missing.add("dataDeclaratie");
+        if (isBlank(d.getNrMrn())) missing.add("nrMrn");
+        if (isBlank(d.getIdentificare())) missing.add("identificare");
+        if (isBlank(d.getNumeExportator())) missing.add("numeExportator");
+        if (isBlank(d.getBuc())) missing.add("buc");
+        if (isBlank(d.getGreutate())) missing.add("greutate");
+        if (isBlank(d.getDescriereaMarfurilor())) missing.add("descriereaMarfurilor");
+        if (missing.isEmpty()) return r;
+
+        ExtractorResult w = r.asWarning("missing " + String.join(", ", missing));
+        logger.accept("⚠️ " + w.file() + ": " + w.error());
+        return w;
     }
 
-    private void validateStructure(ArrayNode arr) {
-        // Keys expected from the Python extractor (adjust only if you change the extractor)
-        List<String> expected = List.of(
-                "dataDeclaratie",
-                "nrMrn",
-                "identificare",
-                "numeExportator",
-                "buc",
-                "greutate",
-                "descriereaMarfurilor",
-                "file"
-        );
+    private static boolean isBlank(String s) {
+        return s == null || s.isBlank();
+    }
 
-        if (arr.isEmpty()) return;
+    /** Latency table at the end of a run: where the extractor's time actually goes. */
+    private void logTimings(PhaseTimings timings) {
+        if (timings.isEmpty()) return;
+        logger.accept("⏱ Extraction timings:");
+        timings.report().forEach(logger);
+    }
 
-        JsonNode first = arr.get(0);
-        for (String key : expected) {
-            if (!first.has(key)) {
+    private void validateStructure(ExtractorResult first) {
+        for (String key : ExtractorOutputParser.EXPECTED_KEYS) {
+            if (!first.keys().contains(key)) {
                 logger.accept("⚠️ Extractor JSON missing key '" + key + "' in first element.");
             }
         }
     }
-
-    // result holder
-    private record ExecResult(String stdout, String stderr, int exitCode) {}
 }
@@ -0,0 +1,104 @@
+// src/main/java/org/app/service/PdfWords.java
+package org.app.service;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.font.PDFontDescriptor;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.pdfbox.text.TextPosition;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * PDFBox counterpart of extract.py's {@code layout_page}: word boxes in
+ * text-flow order (pdfplumber's use_text_flow, x_tolerance=1, y_tolerance=2)
+ * plus one text per page, from a single pass over each page's content stream.
+ */
+final class PdfWords {
+    private PdfWords() {}
+
+    static final double X_TOL = 1.0;
+    static final double Y_TOL = 2.0;
+
+    /** Same fields pdfplumber gives us; y grows downwards from the top of the page. */
+    record Word(String text, double x0, double x1, double top, double bottom, int page) {}
+
+    record Layout(List<Word> words, List<String> pageTexts) {}
+
+    static Layout read(Path pdf) throws IOException {
+        try (PDDocument doc = Loader.loadPDF(pdf.toFile())) {
+            Collector c = new Collector();
+            List<Word> words = new ArrayList<>();
+            List<String> texts = new ArrayList<>();
+            for (int p = 1; p <= doc.getNumberOfPages(); p++) {
+                c.chars.clear();
+                c.setStartPage(p);
+                c.setEndPage(p);
+                texts.add(c.getText(doc));
+                groupWords(c.chars, p, words);
+            }
+            return new Layout(words, texts);
+        }
+    }
+
+    /** Chars in content-stream order → words, the way pdfplumber's WordExtractor splits them. */
+    private static void groupWords(List<TextPosition> chars, int page, List<Word> out) {
+        StringBuilder text = new StringBuilder();
+        double x0 = 0, x1 = 0, top = 0, bottom = 0;
+        double prevX0 = 0, prevX1 = 0, prevTop = 0;
+
+        for (TextPosition tp : chars) {
+            String s = tp.getUnicode();
+            if (s == null || s.isBlank()) {
+                if (text.length() > 0) out.add(new Word(text.toString(), x0, x1, top, bottom, page));
+                text.setLength(0);
+                continue;
+            }
+            double fs = tp.getFontSizeInPt();
+            double descent = 0;
+            PDFontDescriptor fd = tp.getFont() == null ? null : tp.getFont().getFontDescriptor();
+            if (fd != null) descent = Math.abs(fd.getDescent()) / 1000.0 * fs;
+            // pdfminer: the char box is one font size tall, starting at the descent below the baseline
+            double cBottom = tp.getYDirAdj() + descent;
+            double cTop = cBottom - fs;
+            double cX0 = tp.getXDirAdj();
+            double cX1 = cX0 + tp.getWidthDirAdj();
+
+            boolean newWord = text.length() == 0
+                    || cX0 < prevX0
+                    || cX0 > prevX1 + X_TOL
+                    || Math.abs(cTop - prevTop) > Y_TOL;
+            if (newWord) {
+                if (text.length() > 0) out.add(new Word(text.toString(), x0, x1, top, bottom, page));
+                text.setLength(0);
+                x0 = cX0; x1 = cX1; top = cTop; bottom = cBottom;
+            } else {
+                x0 = Math.min(x0, cX0);
+                x1 = Math.max(x1, cX1);
+                top = Math.min(top, cTop);
+                bottom = Math.max(bottom, cBottom);
+            }
+            text.append(s);
+            prevX0 = cX0; prevX1 = cX1; prevTop = cTop;
+        }
+        if (text.length() > 0) out.add(new Word(text.toString(), x0, x1, top, bottom, page));
+    }
+
+    /** Layout text like pdfplumber's extract_text, while keeping every char for the word pass. */
+    private static final class Collector extends PDFTextStripper {
+        final List<TextPosition> chars = new ArrayList<>();
+
+        Collector() throws IOException {
+            setSortByPosition(true);
+        }
+
+        @Override
+        protected void processTextPosition(TextPosition text) {
+            chars.add(text);
+            super.processTextPosition(text);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+// src/main/java/org/app/service/PhaseTimings.java
+package org.app.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Per-phase latency samples of one run (extractor phases/fields from
+ * "_timings", plus the engine's own per-PDF time) with p50/p95/p99 at the end.
+ * Samples are kept exactly: a few doubles per PDF, even for 5,000-PDF runs.
+ */
+public class PhaseTimings {
+
+    /** Java-side time per PDF: cache lookup + pipe round trip + parse. */
+    public static final String ENGINE = "engine";
+
+    public record Stats(String phase, int count, double p50, double p95, double p99, double max, double sum) {}
+
+    private final Map<String, double[]> samples = new LinkedHashMap<>();
+    private final Map<String, Integer> counts = new LinkedHashMap<>();
+
+    public synchronized void record(String phase, double ms) {
+        double[] a = samples.computeIfAbsent(phase, k -> new double[64]);
+        int n = counts.getOrDefault(phase, 0);
+        if (n == a.length) {
+            a = Arrays.copyOf(a, n * 2);
+            samples.put(phase, a);
+        }
+        a[n] = ms;
+        counts.put(phase, n + 1);
+    }
+
+    public synchronized void recordAll(Map<String, Double> timings) {
+        timings.forEach(this::record);
+    }
+
+    public synchronized boolean isEmpty() {
+        return counts.isEmpty();
+    }
+
+    /** One entry per phase, in the order phases were first seen. */
+    public synchronized List<Stats> stats() {
+        List<Stats> out = new ArrayList<>();
+        for (Map.Entry<String, double[]> e : samples.entrySet()) {
+            int n = counts.get(e.getKey());
+            double[] sorted = Arrays.copyOf(e.getValue(), n);
+            Arrays.sort(sorted);
+            double sum = 0;
+            for (double v : sorted) sum += v;
+            out.add(new Stats(e.getKey(), n, percentile(sorted, 50), percentile(sorted, 95),
+                    percentile(sorted, 99), sorted[n - 1], sum));
+        }
+        return out;
+    }
+
+    /** Log-ready table, slowest total first, so the hot spots are on top. */
+    public List<String> report() {
+        List<Stats> stats = stats();
+        stats.sort((a, b) -> Double.compare(b.sum(), a.sum()));
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format(Locale.ROOT, "%-22s %6s %9s %9s %9s %9s %8s",
+                "phase (ms)", "n", "p50", "p95", "p99", "max", "share"));
+        double total = stats.stream().filter(s -> s.phase().equals("total")).mapToDouble(Stats::sum).findFirst()
+                .orElse(0);
+        for (Stats s : stats) {
+            String share = total > 0 && !s.phase().equals("total") && !s.phase().equals(ENGINE)
+                    ? String.format(Locale.ROOT, "%.1f%%", 100 * s.sum() / total) : "";
+            lines.add(String.format(Locale.ROOT, "%-22s %6d %9.1f %9.1f %9.1f %9.1f %8s",
+                    s.phase(), s.count(), s.p50(), s.p95(), s.p99(), s.max(), share));
+        }
+        return lines;
+    }
+
+    /** Nearest-rank percentile of an ascending array. */
+    private static double percentile(double[] sorted, int p) {
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+}
@@ -0,0 +1,111 @@
+// src/main/java/org/app/service/ProcessedManifest.java
+package org.app.service;
+
+import com.opencsv.CSVReader;
+import com.opencsv.CSVWriter;
+import com.opencsv.exceptions.CsvException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CSV next to the register listing every PDF already appended to it
+ * (path, size, mtime, MRN). Daily runs only extract PDFs that are new or
+ * whose size/mtime changed since they were recorded.
+ */
+public class ProcessedManifest {
+
+    private static final String[] HEADER = {"path", "size", "mtime", "mrn"};
+
+    private final Path file;
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    private record Entry(long size, long mtime, String mrn) {}
+
+    private ProcessedManifest(Path file) {
+        this.file = file;
+    }
+
+    /** "registru.xlsx" → "registru.manifest.csv" in the same folder. */
+    public static Path pathFor(File xlsx) {
+        String name = xlsx.getName();
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        return xlsx.toPath().resolveSibling(base + ".manifest.csv");
+    }
+
+    /**
+     * Loads the manifest belonging to {@code xlsx}. Without the workbook the
+     * manifest means nothing, so a missing register yields an empty manifest.
+     */
+    public static ProcessedManifest load(File xlsx) throws IOException {
+        ProcessedManifest m = new ProcessedManifest(pathFor(xlsx));
+        if (!xlsx.isFile() || !Files.isRegularFile(m.file)) return m;
+
+        try (Reader r = Files.newBufferedReader(m.file, StandardCharsets.UTF_8);
+             CSVReader csv = new CSVReader(r)) {
+            List<String[]> lines = csv.readAll();
+            for (int i = 1; i < lines.size(); i++) {   // skip header
+                String[] l = lines.get(i);
+                if (l.length < 4) continue;
+                try {
+                    m.entries.put(l[0], new Entry(Long.parseLong(l[1]), Long.parseLong(l[2]), l[3]));
+                } catch (NumberFormatException ignore) {
+                    // a damaged line only means that PDF is extracted again
+                }
+            }
+        } catch (CsvException e) {
+            throw new IOException("Manifest is unreadable/corrupted: " + m.file.getFileName(), e);
+        }
+        return m;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /** True when the PDF was never recorded or its size/mtime differ from the recorded ones. */
+    public boolean isNewOrChanged(Path pdf) {
+        Entry e = entries.get(key(pdf));
+        if (e == null) return true;
+        try {
+            return Files.size(pdf) != e.size() || Files.getLastModifiedTime(pdf).toMillis() != e.mtime();
+        } catch (IOException ex) {
+            return true;
+        }
+    }
+
+    public void record(Path pdf, String mrn) throws IOException {
+        entries.put(key(pdf), new Entry(Files.size(pdf), Files.getLastModifiedTime(pdf).toMillis(),
+                mrn == null ? "" : mrn));
+    }
+
+    public void save() throws IOException {
+        // safe write: temp then atomic replace
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (Writer w = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8);
+             CSVWriter csv = new CSVWriter(w)) {
+            csv.writeNext(HEADER);
+            for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                Entry v = e.getValue();
+                csv.writeNext(new String[]{e.getKey(), Long.toString(v.size()), Long.toString(v.mtime()), v.mrn()});
+            }
+        }
+        try { Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING); }
+        catch (AtomicMoveNotSupportedException e) { Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING); }
+    }
+
+    private static String key(Path pdf) {
+        return pdf.toAbsolutePath().normalize().toString();
+    }
+}
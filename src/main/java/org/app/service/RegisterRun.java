@@ -0,0 +1,152 @@
+// src/main/java/org/app/service/RegisterRun.java
+package org.app.service;
+
+import com.opencsv.CSVReader;
+import com.opencsv.CSVWriter;
+import com.opencsv.exceptions.CsvException;
+import org.app.controller.ExcelWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Writes one run's results to the register: usable rows are appended and
+ * recorded in the manifest, failed PDFs go to "{@code <register>.retry.csv}"
+ * (path, status, reason) and are picked up again by the next run.
+ */
+public final class RegisterRun {
+    private RegisterRun() {}
+
+    private static final String[] HEADER = {"path", "status", "reason"};
+
+    /** {@code retryList} is null when nothing is left to retry. */
+    public record Summary(int pdfs, int appended, int warnings, int failed, Path retryList) {}
+
+    /** "registru.xlsx" → "registru.retry.csv" in the same folder. */
+    public static Path retryListFor(File xlsx) {
+        String name = xlsx.getName();
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        return xlsx.toPath().resolveSibling(base + ".retry.csv");
+    }
+
+    /** What the manifest needs of an appended PDF; its row is already in the register. */
+    private record Appended(Path pdf, String mrn) {}
+
+    /**
+     * Writer stage of the pipeline: pulls results in file order from {@code results}
+     * (whose bounded window keeps extraction running ahead) and appends each usable row
+     * as it arrives. The register is only saved once the stream is exhausted; the stream is closed.
+     */
+    public static Summary write(File xlsx, Stream<ExtractorResult> results, int startIndex,
+                                ProcessedManifest manifest, Consumer<String> logger) throws Exception {
+        // 1) Append every PDF that produced a row (warnings included, with their empty cells);
+        //    keep only (pdf, mrn) of appended ones and the failures, not every row
+        List<Appended> usable = new ArrayList<>();
+        List<ExtractorResult> failures = new ArrayList<>();
+        int pdfs = 0;
+        int warnings = 0;
+        int appended;
+        try (results; ExcelWriter.Session register = ExcelWriter.open(xlsx, startIndex)) {
+            Iterator<ExtractorResult> it = results.iterator();
+            while (it.hasNext()) {
+                ExtractorResult r = it.next();
+                pdfs++;
+                if (!r.usable()) {
+                    failures.add(r);
+                    continue;
+                }
+                register.append(r.row());
+                usable.add(new Appended(r.pdf(), r.row().getNrMrn()));
+                if (r.status() == ExtractorResult.Status.WARNING) warnings++;
+            }
+            appended = register.commit();
+        }
+        int failed = failures.size();
+
+        // 2) Only appended PDFs count as processed; failed ones stay "new" for the next run
+        if (!usable.isEmpty()) {
+            try {
+                for (Appended a : usable) manifest.record(a.pdf(), a.mrn());
+                manifest.save();
+            } catch (IOException ex) {
+                // the rows are in the register; next run would only re-extract them
+                logger.accept("⚠️ Could not update the processed-files manifest: " + ex.getMessage());
+            }
+        }
+
+        // 3) Retry list = failures still outstanding after this run
+        Path retry = retryListFor(xlsx);
+        try {
+            retry = updateRetryList(retry, usable, failures);
+        } catch (IOException ex) {
+            logger.accept("⚠️ Could not update the retry list: " + ex.getMessage());
+            if (failed == 0) retry = null;
+        }
+        if (failed > 0) {
+            logger.accept("⚠️ " + failed + " PDF(s) failed; listed in " + retry.getFileName());
+        }
+        return new Summary(pdfs, appended, warnings, failed, retry);
+    }
+
+    // ------------------------------- helpers -------------------------------
+
+    private static Path updateRetryList(Path file, List<Appended> appended, List<ExtractorResult> failures)
+            throws IOException {
+        Map<String, String[]> outstanding = new LinkedHashMap<>();
+        if (Files.isRegularFile(file)) {
+            try (Reader r = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+                 CSVReader csv = new CSVReader(r)) {
+                List<String[]> lines = csv.readAll();
+                for (int i = 1; i < lines.size(); i++) {   // skip header
+                    String[] l = lines.get(i);
+                    if (l.length >= 3) outstanding.put(l[0], l);
+                }
+            } catch (CsvException e) {
+                // a damaged list is rebuilt from this run
+            }
+        }
+
+        for (Appended a : appended) {
+            outstanding.remove(retryKey(a.pdf()));
+        }
+        for (ExtractorResult r : failures) {
+            String key = retryKey(r.pdf());
+            outstanding.put(key, new String[]{key, r.status().name(), r.error() == null ? "" : r.error()});
+        }
+
+        if (outstanding.isEmpty()) {
+            Files.deleteIfExists(file);
+            return null;
+        }
+
+        // safe write: temp then atomic replace
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (Writer w = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8);
+             CSVWriter csv = new CSVWriter(w)) {
+            csv.writeNext(HEADER);
+            for (String[] l : outstanding.values()) csv.writeNext(l);
+        }
+        try { Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING); }
+        catch (AtomicMoveNotSupportedException e) { Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING); }
+        return file;
+    }
+
+    private static String retryKey(Path pdf) {
+        return pdf.toAbsolutePath().normalize().toString();
+    }
+}
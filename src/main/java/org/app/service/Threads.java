@@ -0,0 +1,93 @@
+// src/main/java/org/app/service/Threads.java
+package org.app.service;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread factories for the blocking I/O around the extractor (pipe reads,
+ * waiting for an idle worker). On Java 21+ these are virtual threads, so a wait
+ * costs a few hundred bytes instead of a platform stack; on 17 they fall back
+ * to daemon platform threads. The sources stay at release 17, hence the reflection.
+ * {@code -Dregistru.virtualThreads=false} forces platform threads.
+ */
+public final class Threads {
+    private Threads() {}
+
+    private static final Method OF_VIRTUAL = lookup(Thread.class, "ofVirtual");
+    private static final Method PER_TASK = lookup(Executors.class, "newThreadPerTaskExecutor", ThreadFactory.class);
+
+    public static boolean virtual() {
+        return OF_VIRTUAL != null && PER_TASK != null
+                && !"false".equalsIgnoreCase(System.getProperty("registru.virtualThreads"));
+    }
+
+    /** Threads named {@code prefix-0}, {@code prefix-1}, …; always daemon. */
+    public static ThreadFactory factory(String prefix) {
+        ThreadFactory v = virtualFactory(prefix + "-", true);
+        if (v != null) return v;
+        AtomicInteger n = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + "-" + n.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    /**
+     * One new thread per task on Java 21+ (no pool: virtual threads are cheap);
+     * otherwise a fixed pool of {@code platformThreads}.
+     */
+    public static ExecutorService perTask(String prefix, int platformThreads) {
+        ThreadFactory f = factory(prefix);
+        if (virtual()) {
+            try {
+                return (ExecutorService) PER_TASK.invoke(null, f);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // fall through to a fixed pool
+            }
+        }
+        return Executors.newFixedThreadPool(platformThreads, f);
+    }
+
+    /** Starts {@code task} on a daemon thread called {@code name}. */
+    public static Thread start(String name, Runnable task) {
+        ThreadFactory v = virtualFactory(name, false);
+        Thread t;
+        if (v != null) {
+            t = v.newThread(task);
+        } else {
+            t = new Thread(task, name);
+            t.setDaemon(true);
+        }
+        t.start();
+        return t;
+    }
+
+    /** {@code Thread.ofVirtual().name(...).factory()}, or null before Java 21. */
+    private static ThreadFactory virtualFactory(String name, boolean counter) {
+        if (!virtual()) return null;
+        try {
+            // look methods up on the public Thread.Builder interface, not the JDK's hidden impl class
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = OF_VIRTUAL.invoke(null);
+            builder = counter
+                    ? builderType.getMethod("name", String.class, long.class).invoke(builder, name, 0L)
+                    : builderType.getMethod("name", String.class).invoke(builder, name);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static Method lookup(Class<?> owner, String name, Class<?>... params) {
+        try {
+            return owner.getMethod(name, params);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
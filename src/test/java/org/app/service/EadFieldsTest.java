@@ -0,0 +1,97 @@
+// src/test/java/org/app/service/EadFieldsTest.java
+package org.app.service;
+
+import org.app.model.RegistruEvidentaDto;
+import org.app.service.PdfWords.Word;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Parity of the Java port with python/extract.py. Each fixture's expected values are what
+ * the Python field functions return for the same word boxes and page texts; when one
+ * extractor changes, rerun it there and update both.
+ */
+class EadFieldsTest {
+
+    @Test
+    void firstPageLaidOutLikeTheCorpus() {
+        List<Word> ws = new ArrayList<>();
+        line(ws, 1, 40, 40, 12.5, "DECLARAȚIE DE EXPORT");
+        line(ws, 1, 40, 64, 8.5, "MRN: 25RO123456EX654321B7");
+        line(ws, 1, 40, 84, 8.5, "Data acceptării: 07.03.2025");
+        line(ws, 1, 40, 132, 8.5, "Exportator [13 01]");
+        line(ws, 1, 48, 145, 8.5, "Nr: RO12345678");
+        line(ws, 1, 48, 158, 8.5, "ȚESĂTORIA MUREȘ SA");
+        line(ws, 1, 40, 300, 8.5, "Masa brută (kg) [18 04]");
+        line(ws, 1, 52, 314.5, 8.5, "12450,50");
+        line(ws, 1, 40, 340, 8.5, "Masa netă (kg) [18 01]");
+        line(ws, 1, 48, 354.5, 8.5, "12400");
+        String text = "DECLARAȚIE DE EXPORT\nMRN: 25RO123456EX654321B7\nData acceptării: 07.03.2025\nExportator [13 01]\n"
+                + "Nr: RO12345678\nȚESĂTORIA MUREȘ SA\nDocumentul de transport [12 05]\nN741 / 123456\n"
+                + "Documentul precedent [12 01]\nN730 / 1234\nTipul si nr. de colete [18 06]\nPX / 42 / FARA MARCI\n"
+                + "Descrierea mărfurilor [18 05]\n1. Țesături din bumbac, vopsite\nCod nomenclatură combinată [18 09]\n"
+                + "52081200\nMasa brută (kg) [18 04]\n12450,50\nMasa netă (kg) [18 01]\n12400";
+
+        RegistruEvidentaDto d = EadFields.extract(new PdfWords.Layout(ws, List.of(text)), "ead-000001.pdf");
+        assertEquals("07-03", d.getDataDeclaratie());
+        assertEquals("X654321B7", d.getNrMrn());
+        assertEquals("AWB", d.getIdentificare());
+        assertEquals("ȚESĂTORIA MUREȘ SA", d.getNumeExportator());
+        assertEquals("42", d.getBuc());
+        assertEquals("12450", d.getGreutate());
+        assertEquals("Țesături din bumbac, vopsite", d.getDescriereaMarfurilor());
+    }
+
+    @Test
+    void fallbacksWhenTheAnchorsAreMissing() {
+        // no "Data" line, MRN only in the file name, sections on page 2, header split over two lines
+        List<Word> ws = new ArrayList<>();
+        line(ws, 1, 40, 40, 9, "Emis 12/11/25 Bucuresti");
+        line(ws, 1, 40, 100, 9, "Exportator");
+        line(ws, 1, 48, 112, 9, "Nr RO998877");
+        line(ws, 1, 48, 124, 9, "X SC AGRO EXPORT SRL");
+        List<String> texts = List.of(
+                "Emis 12/11/25 Bucuresti\nExportator\nNr RO998877\nX SC AGRO EXPORT SRL",
+                "Documentul de transport [12 05]\nN787 / 55\nDocumentul precedent [12 01]\n"
+                        + "Tipul si nr. de colete [18 06]\nCOLI 7 FARA MARCI\nDescrierea\nmărfurilor [18 05]\n"
+                        + "Cereale - grâu , ambalat\nValoarea statistica [99 06]");
+
+        RegistruEvidentaDto d = EadFields.extract(new PdfWords.Layout(ws, texts), "26RO001122EX998877C3.pdf");
+        assertEquals("12-11", d.getDataDeclaratie());
+        assertEquals("X998877C3", d.getNrMrn());
+        assertEquals("Borderou", d.getIdentificare());
+        assertEquals("SC AGRO EXPORT SRL", d.getNumeExportator());
+        assertEquals("7", d.getBuc());
+        assertNull(d.getGreutate());
+        assertEquals("Cereale - grâu, ambalat", d.getDescriereaMarfurilor());
+    }
+
+    @Test
+    void nothingToFind() {
+        RegistruEvidentaDto d = EadFields.extract(new PdfWords.Layout(List.of(), List.of("")), "scan.pdf");
+        assertNull(d.getDataDeclaratie());
+        assertNull(d.getNrMrn());
+        assertNull(d.getIdentificare());
+        assertNull(d.getNumeExportator());
+        assertNull(d.getBuc());
+        assertNull(d.getGreutate());
+        assertNull(d.getDescriereaMarfurilor());
+    }
+
+    // ------------------------------- helpers -------------------------------
+
+    /** One text line split into word boxes (half a font size per char); same helper as on the Python side. */
+    private static void line(List<Word> out, int page, double x, double top, double size, String text) {
+        double cx = x;
+        for (String tok : text.split(" ")) {
+            double w = tok.length() * size * 0.5;
+            out.add(new Word(tok, cx, cx + w, top, top + size, page));
+            cx += w + size * 0.3;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+// src/test/java/org/app/service/ExtractorOutputParserTest.java
+package org.app.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** The worker's NDJSON records, in the exact shapes extract.py prints them. */
+class ExtractorOutputParserTest {
+
+    private static final String RECORD = "{\"dataDeclaratie\": \"07-03\", \"nrMrn\": \"X654321B7\", "
+            + "\"identificare\": \"AWB\", \"numeExportator\": \"\\u021aES\\u0102TORIA MURE\\u0218 SA\", "
+            + "\"buc\": 42, \"greutate\": 12450, \"descriereaMarfurilor\": \"Gr\\u00e2u\", \"file\": \"ead-1.pdf\", "
+            + "\"_timings\": {\"open\": 3.25, \"layout.words\": 11.0, \"total\": 40.5}}";
+
+    @Test
+    void mapsARecordWithIntegerFieldsAndTimings() throws IOException {
+        ExtractorResult r = parseOne(RECORD);
+        assertEquals(ExtractorResult.Status.OK, r.status());
+        assertEquals("ead-1.pdf", r.file());
+        assertEquals("07-03", r.row().getDataDeclaratie());
+        assertEquals("X654321B7", r.row().getNrMrn());
+        assertEquals("AWB", r.row().getIdentificare());
+        assertEquals("ȚESĂTORIA MUREȘ SA", r.row().getNumeExportator());
+        assertEquals("42", r.row().getBuc());
+        assertEquals("12450", r.row().getGreutate());
+        assertEquals("Grâu", r.row().getDescriereaMarfurilor());
+        assertTrue(r.keys().containsAll(ExtractorOutputParser.EXPECTED_KEYS));
+        assertFalse(r.keys().contains("_timings"), "timings are a side channel, not a register key");
+        assertEquals(Map.of("open", 3.25, "layout.words", 11.0, "total", 40.5), r.timings());
+    }
+
+    @Test
+    void nullFieldsStayNullButCountAsPresent() throws IOException {
+        ExtractorResult r = parseOne("{\"dataDeclaratie\": null, \"buc\": null, \"file\": \"a.pdf\"}");
+        assertNull(r.row().getDataDeclaratie());
+        assertNull(r.row().getBuc());
+        assertEquals(Set.of("dataDeclaratie", "buc", "file"), r.keys());
+        assertTrue(r.timings().isEmpty());
+    }
+
+    @Test
+    void errorRecordIsAFailure() throws IOException {
+        ExtractorResult r = parseOne("{\"file\": \"bad.pdf\", \"error\": \"PDFSyntaxError: No /Root object!\"}");
+        assertEquals(ExtractorResult.Status.FAILED, r.status());
+        assertEquals("PDFSyntaxError: No /Root object!", r.error());
+        assertEquals("bad.pdf", r.file());
+    }
+
+    @Test
+    void toleratesUnknownAndStructuredFields() throws IOException {
+        ExtractorResult r = parseOne("{\"nrMrn\": \"X1\", \"debug\": {\"pages\": [1, 2, {\"x\": 1}]}, "
+                + "\"extra\": [\"a\"], \"version\": 3, \"file\": \"a.pdf\"}");
+        assertEquals("X1", r.row().getNrMrn());
+        assertEquals("a.pdf", r.file());
+        assertTrue(r.keys().contains("debug"));
+    }
+
+    @Test
+    void readsOneRecordPerLineUntilTheEnd() throws IOException {
+        String ndjson = RECORD + "\n{\"file\": \"b.pdf\", \"error\": \"boom\"}\n\n" + RECORD + "\n";
+        List<ExtractorResult> out = new ArrayList<>();
+        try (ExtractorOutputParser p = parser(ndjson)) {
+            p.forEach(out::add);
+            assertNull(p.next());
+        }
+        assertEquals(3, out.size());
+        assertEquals(ExtractorResult.Status.FAILED, out.get(1).status());
+        assertEquals("ead-1.pdf", out.get(2).file());
+    }
+
+    @Test
+    void somethingOtherThanAnObjectIsAnError() throws IOException {
+        try (ExtractorOutputParser p = parser("[{\"file\": \"a.pdf\"}]")) {
+            assertThrows(IOException.class, p::next);
+        }
+    }
+
+    // ------------------------------- helpers -------------------------------
+
+    private static ExtractorResult parseOne(String line) throws IOException {
+        try (ExtractorOutputParser p = parser(line + "\n")) {
+            ExtractorResult r = p.next();
+            assertNull(p.next());
+            return r;
+        }
+    }
+
+    private static ExtractorOutputParser parser(String s) throws IOException {
+        return new ExtractorOutputParser(new ByteArrayInputStream(s.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,96 @@
+// src/test/java/org/app/service/FakeEngine.java
+package org.app.service;
+
+import org.app.model.RegistruEvidentaDto;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * In-memory {@link ExtractionEngine}: "extracts" a PDF by calling {@code behaviour} on one
+ * of {@code size} threads, and records what it was asked to do. No extractor binary.
+ */
+class FakeEngine implements ExtractionEngine {
+
+    private final ExecutorService pool;
+    private final int size;
+    private final Function<Path, ExtractorResult> behaviour;     // may sleep or throw
+
+    final List<Path> started = new CopyOnWriteArrayList<>();
+    final AtomicInteger submitted = new AtomicInteger();
+
+    FakeEngine(int size, Function<Path, ExtractorResult> behaviour) {
+        this.size = size;
+        this.behaviour = behaviour;
+        this.pool = Executors.newFixedThreadPool(size, r -> {
+            Thread t = new Thread(r, "fake-extract");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** A complete record with every register field set; the MRN is the file name. */
+    static ExtractorResult ok(Path pdf) {
+        RegistruEvidentaDto d = new RegistruEvidentaDto();
+        d.setDataDeclaratie("07-03");
+        d.setNrMrn(pdf.getFileName().toString());
+        d.setIdentificare("CMR");
+        d.setNumeExportator("SC AGRO EXPORT SRL");
+        d.setBuc("12");
+        d.setGreutate("1500");
+        d.setDescriereaMarfurilor("Grâu");
+        return ExtractorResult.complete(pdf, d);
+    }
+
+    /** Sleeps like a slow parse; an interrupt (cancel(true), shutdownNow) ends it with an exception. */
+    static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted");
+        }
+    }
+
+    @Override
+    public Future<ExtractorResult> submit(Path pdf, ExtractionListener listener) {
+        if (isClosed()) throw new IllegalStateException("Fake engine is closed.");
+        submitted.incrementAndGet();
+        return pool.submit(() -> {
+            listener.fileStarted(pdf);
+            started.add(pdf);
+            long t0 = System.nanoTime();
+            ExtractorResult r = null;
+            try {
+                r = behaviour.apply(pdf);
+                return r;
+            } finally {
+                listener.fileDone(r == null ? ExtractorResult.failure(pdf, "threw") : r,
+                        Duration.ofNanos(System.nanoTime() - t0));
+            }
+        });
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return pool.isShutdown();
+    }
+
+    /** Like ExtractorPool.close(): queued tasks are dropped and never complete. */
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,53 @@
+// src/test/java/org/app/service/HotFolderWatcherTest.java
+package org.app.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Only settled, complete PDFs are extracted; one still being written is left for later. */
+class HotFolderWatcherTest {
+
+    @TempDir
+    Path dir;
+
+    private final List<String> log = new CopyOnWriteArrayList<>();
+
+    @Test
+    void picksUpCompletePdfsOnly() throws Exception {
+        Path inbox = Files.createDirectories(dir.resolve("inbox"));
+        Path done = inbox.resolve("done.pdf");
+        Path half = inbox.resolve("half.pdf");
+        Files.writeString(done, "%PDF-1.4\n1 0 obj\n<< /Type /Pages /Count 1 >>\nendobj\n%%EOF\n", StandardCharsets.ISO_8859_1);
+        Files.writeString(half, "%PDF-1.4\n1 0 obj\n<< /Type /Pages /Count 1 >>\n", StandardCharsets.ISO_8859_1);
+        File xlsx = dir.resolve("registru.xlsx").toFile();
+
+        try (FakeEngine engine = new FakeEngine(2, FakeEngine::ok)) {
+            PdfFolderService svc = new PdfFolderService(log::add, engine);
+            assertTimeoutPreemptively(Duration.ofSeconds(20), () -> {
+                try (HotFolderWatcher w = new HotFolderWatcher(List.of(inbox), xlsx, 1, svc, log::add)) {
+                    w.start();
+                    Thread.sleep(HotFolderWatcher.SETTLE_MS + 1_000);
+                }   // close() flushes what was ready
+            });
+            assertEquals(List.of(done), engine.started);
+        }
+
+        assertTrue(xlsx.isFile(), String.join("\n", log));
+        ProcessedManifest manifest = ProcessedManifest.load(xlsx);
+        assertFalse(manifest.isNewOrChanged(done));
+        assertTrue(manifest.isNewOrChanged(half));
+    }
+}
@@ -0,0 +1,64 @@
+// src/test/java/org/app/service/PdfCostTest.java
+package org.app.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** Page estimates from the two ends of the file, without parsing it. */
+class PdfCostTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void pageTreeRootCount() throws IOException {
+        Path p = write("tree.pdf", "%PDF-1.7\n2 0 obj\n<< /Type /Pages /Kids [3 0 R 4 0 R] /Count 9 >>\nendobj\n"
+                + "3 0 obj\n<< /Type /Pages /Count 4 >>\nendobj\n%%EOF\n");
+        assertEquals(9, PdfCost.estimatePages(p));
+    }
+
+    @Test
+    void linearizedHeaderWins() throws IOException {
+        Path p = write("lin.pdf", "%PDF-1.5\n1 0 obj\n<< /Linearized 1 /L 81234 /H [ 600 150 ] /O 4 /E 7000 /N 6 /T 80900 >>\n"
+                + "endobj\n2 0 obj\n<< /Type /Pages /Count 99 >>\nendobj\n%%EOF\n");
+        assertEquals(6, PdfCost.estimatePages(p));
+    }
+
+    @Test
+    void countInTheTailOfALargeFile() throws IOException {
+        StringBuilder sb = new StringBuilder("%PDF-1.4\n");
+        char[] filler = new char[64 * 1024];
+        Arrays.fill(filler, 'x');
+        sb.append(filler).append("\n5 0 obj\n<< /Type /Pages /Count 17 >>\nendobj\n%%EOF\n");
+        assertEquals(17, PdfCost.estimatePages(write("tail.pdf", sb.toString())));
+    }
+
+    @Test
+    void noCountFallsBackToFileSize() throws IOException {
+        char[] body = new char[200 * 1024];
+        Arrays.fill(body, 'x');
+        assertEquals(5, PdfCost.estimatePages(write("big.pdf", "%PDF-1.4\n" + new String(body))));
+        assertEquals(1, PdfCost.estimatePages(write("tiny.pdf", "%PDF-1.4\n%%EOF\n")));
+    }
+
+    @Test
+    void unreadableFileCountsAsOnePage() {
+        assertEquals(1, PdfCost.estimatePages(dir.resolve("missing.pdf")));
+    }
+
+    // ------------------------------- helpers -------------------------------
+
+    private Path write(String name, String content) throws IOException {
+        Path p = dir.resolve(name);
+        Files.writeString(p, content, StandardCharsets.ISO_8859_1);
+        return p;
+    }
+}
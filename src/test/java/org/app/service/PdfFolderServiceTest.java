@@ -0,0 +1,182 @@
+// src/test/java/org/app/service/PdfFolderServiceTest.java
+package org.app.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Ordering, bounded buffering, failure isolation and deadlines of the ordered window. */
+class PdfFolderServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private final List<String> log = new CopyOnWriteArrayList<>();
+
+    @Test
+    void resultsComeOutInFileOrder() throws IOException {
+        List<Path> pdfs = new ArrayList<>();
+        for (int i = 0; i < 30; i++) pdfs.add(pdf(String.format("f%02d.pdf", i), 1 + (i * 7) % 11));
+        try (FakeEngine engine = new FakeEngine(4, p -> {
+            FakeEngine.sleep(Math.floorMod(p.getFileName().toString().hashCode(), 3) * 5L);
+            return FakeEngine.ok(p);
+        })) {
+            List<Path> out = service(engine).processFiles(pdfs).stream()
+                    .map(ExtractorResult::pdf).collect(Collectors.toList());
+            assertEquals(pdfs, out);
+        }
+    }
+
+    @Test
+    void longestPdfIsDispatchedFirst() throws IOException {
+        List<Path> pdfs = List.of(pdf("a.pdf", 1), pdf("b.pdf", 2), pdf("c.pdf", 30), pdf("d.pdf", 3));
+        try (FakeEngine engine = new FakeEngine(1, FakeEngine::ok)) {
+            List<ExtractorResult> out;
+            try (Stream<ExtractorResult> s = service(engine).streamFiles(pdfs, 2)) {
+                out = s.collect(Collectors.toList());
+            }
+            assertEquals(pdfs.get(2), engine.started.get(0));
+            assertEquals(pdfs, out.stream().map(ExtractorResult::pdf).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void finishedResultsCountAgainstTheWindow() throws IOException {
+        List<Path> pdfs = new ArrayList<>();
+        for (int i = 0; i < 40; i++) pdfs.add(pdf(String.format("f%02d.pdf", i), 1));
+        int window = 4;
+        try (FakeEngine engine = new FakeEngine(4, p -> {
+            // a slow head: everything behind it finishes and has to wait for the consumer
+            if (p.getFileName().toString().equals("f00.pdf")) FakeEngine.sleep(300);
+            return FakeEngine.ok(p);
+        })) {
+            AtomicInteger consumed = new AtomicInteger();
+            int[] maxAhead = {0};
+            try (Stream<ExtractorResult> s = service(engine).streamFiles(pdfs, window)) {
+                s.forEach(r -> {
+                    maxAhead[0] = Math.max(maxAhead[0], engine.submitted.get() - consumed.get());
+                    consumed.incrementAndGet();
+                });
+            }
+            assertEquals(40, consumed.get());
+            assertTrue(maxAhead[0] <= window, "submitted ahead of the consumer: " + maxAhead[0]);
+        }
+    }
+
+    @Test
+    void aPdfThatThrowsIsAFailedRecordAndTheRunGoesOn() throws IOException {
+        List<Path> pdfs = List.of(pdf("a.pdf", 1), pdf("bad.pdf", 1), pdf("c.pdf", 1));
+        try (FakeEngine engine = new FakeEngine(2, p -> {
+            if (p.getFileName().toString().equals("bad.pdf")) throw new IllegalStateException("broken xref");
+            return FakeEngine.ok(p);
+        })) {
+            List<ExtractorResult> out = service(engine).processFiles(pdfs);
+            assertEquals(List.of(ExtractorResult.Status.OK, ExtractorResult.Status.FAILED, ExtractorResult.Status.OK),
+                    out.stream().map(ExtractorResult::status).collect(Collectors.toList()));
+            assertTrue(out.get(1).error().contains("broken xref"), out.get(1).error());
+        }
+    }
+
+    @Test
+    void runDeadlineEndsTheStreamWithTimedOutRecords() throws IOException {
+        List<Path> pdfs = List.of(pdf("a.pdf", 1), pdf("slow.pdf", 1), pdf("c.pdf", 1), pdf("d.pdf", 1));
+        try (FakeEngine engine = new FakeEngine(2, p -> {
+            if (p.getFileName().toString().equals("slow.pdf")) FakeEngine.sleep(10_000);
+            return FakeEngine.ok(p);
+        })) {
+            PdfFolderService svc = service(engine).withRunDeadline(Duration.ofMillis(500));
+            List<ExtractorResult> out = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                    () -> svc.processFiles(pdfs));
+            assertEquals(4, out.size());
+            assertEquals(ExtractorResult.Status.OK, out.get(0).status());
+            assertEquals(ExtractorResult.Status.TIMED_OUT, out.get(1).status());
+            assertTrue(out.get(1).error().contains("run deadline"), out.get(1).error());
+        }
+    }
+
+    @Test
+    void headCancelledFromOutsideWithoutDeadlineIsAFailure() throws IOException {
+        List<Path> pdfs = List.of(pdf("a.pdf", 1), pdf("b.pdf", 1));
+        try (FakeEngine engine = new FakeEngine(1, p -> {
+            FakeEngine.sleep(200);
+            return FakeEngine.ok(p);
+        }) {
+            @Override
+            public Future<ExtractorResult> submit(Path pdf, ExtractionListener listener) {
+                Future<ExtractorResult> f = super.submit(pdf, listener);
+                if (pdf.getFileName().toString().equals("a.pdf")) f.cancel(false);
+                return f;
+            }
+        }) {
+            List<ExtractorResult> out = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                    () -> service(engine).processFiles(pdfs));
+            assertEquals(ExtractorResult.Status.FAILED, out.get(0).status());
+            assertEquals("cancelled", out.get(0).error());
+            assertEquals(ExtractorResult.Status.OK, out.get(1).status());
+        }
+    }
+
+    @Test
+    void closingTheEngineEndsTheStreamInsteadOfWaitingForever() throws IOException {
+        List<Path> pdfs = List.of(pdf("a.pdf", 1), pdf("b.pdf", 1), pdf("c.pdf", 1));
+        FakeEngine engine = new FakeEngine(1, p -> {
+            FakeEngine.sleep(10_000);
+            return FakeEngine.ok(p);
+        });
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            try (Stream<ExtractorResult> s = service(engine).streamFiles(pdfs, 3)) {
+                Iterator<ExtractorResult> it = s.iterator();
+                new Thread(() -> {
+                    FakeEngine.sleep(300);
+                    engine.close();
+                }).start();
+                // the running PDF is interrupted and fails; the queued ones were dropped by the close
+                assertEquals(ExtractorResult.Status.FAILED, it.next().status());
+                assertThrows(CancellationException.class, it::next);
+            }
+        });
+    }
+
+    @Test
+    void findPdfsSortsLikePythonRglob() throws IOException {
+        Path ac = pdf("a-c.pdf", 1);
+        Files.createDirectories(dir.resolve("a"));
+        Path ab = pdf("a/b.pdf", 1);
+        Path z = pdf("z.pdf", 1);
+        Files.writeString(dir.resolve("notes.txt"), "not a pdf");
+        assertEquals(List.of(ab, ac, z), PdfFolderService.findPdfs(dir));
+    }
+
+    // ------------------------------- helpers -------------------------------
+
+    private PdfFolderService service(ExtractionEngine engine) {
+        return new PdfFolderService(log::add, engine);
+    }
+
+    /** A file PdfCost reads as {@code pages} pages; the fake engine never parses it. */
+    private Path pdf(String name, int pages) throws IOException {
+        Path p = dir.resolve(name);
+        Files.writeString(p, "%PDF-1.4\n1 0 obj\n<< /Type /Pages /Count " + pages + " >>\nendobj\n%%EOF\n",
+                StandardCharsets.ISO_8859_1);
+        return p;
+    }
+}
@@ -0,0 +1,86 @@
+// src/test/java/org/app/service/RegisterRunTest.java
+package org.app.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Register, manifest and retry list across two runs, the second retrying what the first could not read. */
+class RegisterRunTest {
+
+    @TempDir
+    Path dir;
+
+    private final List<String> log = new CopyOnWriteArrayList<>();
+
+    @Test
+    void failuresAreRetriedAndClearedOnceTheyWork() throws Exception {
+        File xlsx = dir.resolve("registru.xlsx").toFile();
+        Path a = pdf("a.pdf");
+        Path bad = pdf("bad.pdf");
+        Path w = pdf("w.pdf");
+
+        // 1) one OK, one failure, one warning
+        ProcessedManifest manifest = ProcessedManifest.load(xlsx);
+        RegisterRun.Summary first = RegisterRun.write(xlsx, Stream.of(
+                FakeEngine.ok(a),
+                ExtractorResult.failure(bad, "PDFSyntaxError: No /Root object!"),
+                FakeEngine.ok(w).asWarning("greutate")), 1, manifest, log::add);
+
+        assertEquals(new RegisterRun.Summary(3, 2, 1, 1, RegisterRun.retryListFor(xlsx)), first);
+        assertTrue(xlsx.isFile());
+        String retry = Files.readString(first.retryList(), StandardCharsets.UTF_8);
+        assertTrue(retry.contains(bad.toAbsolutePath().normalize().toString()), retry);
+        assertTrue(retry.contains("No /Root object!"), retry);
+        assertFalse(retry.contains("a.pdf"), retry);
+
+        ProcessedManifest reloaded = ProcessedManifest.load(xlsx);
+        assertEquals(2, reloaded.size());
+        assertFalse(reloaded.isNewOrChanged(a));
+        assertFalse(reloaded.isNewOrChanged(w));
+        assertTrue(reloaded.isNewOrChanged(bad));
+
+        // 2) the failed PDF comes back fine: nothing is left to retry
+        RegisterRun.Summary second = RegisterRun.write(xlsx, Stream.of(FakeEngine.ok(bad)),
+                1 + first.appended(), reloaded, log::add);
+
+        assertEquals(new RegisterRun.Summary(1, 1, 0, 0, null), second);
+        assertFalse(Files.exists(RegisterRun.retryListFor(xlsx)));
+        assertFalse(ProcessedManifest.load(xlsx).isNewOrChanged(bad));
+    }
+
+    @Test
+    void retryListNamesSitNextToTheRegister() {
+        assertEquals(dir.resolve("registru.retry.csv"), RegisterRun.retryListFor(dir.resolve("registru.xlsx").toFile()));
+        assertEquals(dir.resolve("registru.manifest.csv"), ProcessedManifest.pathFor(dir.resolve("registru.xlsx").toFile()));
+    }
+
+    @Test
+    void anEmptyRunWritesNoRetryList() throws Exception {
+        File xlsx = dir.resolve("registru.xlsx").toFile();
+        RegisterRun.Summary sum = RegisterRun.write(xlsx, Stream.empty(), 1, ProcessedManifest.load(xlsx), log::add);
+        assertEquals(0, sum.pdfs());
+        assertNull(sum.retryList());
+    }
+
+    // ------------------------------- helpers -------------------------------
+
+    private Path pdf(String name) throws IOException {
+        Path p = dir.resolve(name);
+        Files.writeString(p, "%PDF-1.4\n%%EOF\n", StandardCharsets.ISO_8859_1);
+        return p;
+    }
+}